@@ -39,6 +39,14 @@ chmod 644 build/libs/OpenOSRS-shaded.jar
 java -jar packr_${PACKR_VERSION}.jar \
     packr/linux-x64-config.json
 
+# Train the class list the class data sharing archive is dumped from. It shows the splash screen, so it
+# needs a display.
+if [ -z "$DISPLAY" ] ; then
+    xvfb-run --auto-servernum ./gradlew launcherClassList --console=plain
+else
+    ./gradlew launcherClassList --console=plain
+fi
+
 pushd native-linux-x86_64/OpenOSRS.AppDir
 mkdir -p jre/lib/amd64/server/
 ln -s ../../server/libjvm.so jre/lib/amd64/server/ # packr looks for libjvm at this hardcoded path
@@ -48,6 +56,14 @@ ln -s OpenOSRS AppRun
 
 # Ensure OpenOSRS is executable to all users
 chmod 755 OpenOSRS
+
+# Dump the launcher's class data sharing archive with the bundled jre. The archive records the classpath
+# as given, so this runs from the app directory with the same relative classpath packr uses.
+jre/bin/java -Xshare:dump \
+    -XX:SharedClassListFile=../../build/libs/OpenOSRS.classlist \
+    -XX:SharedArchiveFile=OpenOSRS.jsa \
+    -cp OpenOSRS-shaded.jar
+chmod 644 OpenOSRS.jsa
 popd
 
 if ! [ -f appimagetool-x86_64.AppImage ] ; then
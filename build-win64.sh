@@ -32,6 +32,18 @@ echo "f200fb7088dbb5e61e0835fe7b0d7fc1310beda192dacd764927567dcd7c4f0f  packr_${
 java -jar packr_${PACKR_VERSION}.jar \
     packr/win-x64-config.json
 
+# Train the class list the class data sharing archive is dumped from. It shows the splash screen.
+./gradlew launcherClassList --console=plain
+
+# Dump the launcher's class data sharing archive with the bundled jre. The archive records the classpath
+# as given, so this runs from the app directory with the same relative classpath packr uses.
+pushd native-win64
+jre/bin/java -Xshare:dump \
+    -XX:SharedClassListFile=../build/libs/OpenOSRS.classlist \
+    -XX:SharedArchiveFile=OpenOSRS.jsa \
+    -cp OpenOSRS-shaded.jar
+popd
+
 # modify packr exe manifest to enable Windows dpi scaling
 resourcehacker \
     -open native-win64/OpenOSRS.exe \
@@ -52,10 +52,16 @@ dependencies {
         exclude(group = "org.codehaus.mojo", module = "animal-sniffer-annotations")
     }
     implementation(group = "com.vdurmont", name = "semver4j", version = "3.1.0")
+    implementation(group = "io.sigpipe", name = "jbsdiff", version = "1.0")
 
     testImplementation(group = "junit", name = "junit", version = "4.12")
 }
 
+// Only used to train the class list for the packaged launcher, not part of the launcher jar
+val classlist: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + configurations.runtimeClasspath.get()
+}
+
 configure<CheckstyleExtension> {
     maxWarnings = 0
     toolVersion = "8.25"
@@ -77,6 +83,16 @@ tasks {
         finalizedBy("shadowJar")
     }
 
+    // The classes loaded by the launcher, which the packaging scripts dump a class data sharing archive from.
+    // It shows the splash screen, so it isn't part of the build and needs a display (xvfb-run on a server).
+    register<JavaExec>("launcherClassList") {
+        dependsOn(shadowJar)
+        classpath = files(shadowJar.get().archiveFile) + classlist.output
+        main = "net.runelite.launcher.ClassListTraining"
+        jvmArgs("-Xshare:off", "-XX:DumpLoadedClassList=${buildDir}/libs/OpenOSRS.classlist")
+        outputs.file("${buildDir}/libs/OpenOSRS.classlist")
+    }
+
     processResources {
         val tokens = mapOf(
                 "basedir"         to project.projectDir.path,
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.gson.Gson;
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import net.runelite.launcher.beans.Bootstrap;
+
+/**
+ * Loads the classes the launcher uses up to showing the splash screen and checking artifacts, without
+ * launching anything. Run by the launcherClassList gradle task with -XX:DumpLoadedClassList to produce
+ * the class list the launcher's class data sharing archive is dumped from. Kept out of the launcher jar,
+ * the packaging scripts run it before dumping the archive.
+ */
+public class ClassListTraining
+{
+	public static void main(String[] args) throws Exception
+	{
+		// The splash screen is most of what the archive is for, so a list without it isn't worth shipping
+		if (GraphicsEnvironment.isHeadless())
+		{
+			throw new IllegalStateException("class list training needs a display, run it under xvfb-run");
+		}
+
+		// Show the splash screen as it looks without an update, without asking GitHub
+		InfoPanel.setLatestLauncher(LauncherProperties.getVersion());
+
+		new Gson().fromJson("{\"artifacts\":[]}", Bootstrap.class);
+		Launcher.compareVersion("1.0.0", "1.0.1");
+		HttpTransport.getClient();
+
+		File file = File.createTempFile("training", ".jar");
+		try
+		{
+			Files.write(file.toPath(), "training".getBytes(StandardCharsets.UTF_8));
+			FileHasher.hash(file);
+		}
+		finally
+		{
+			file.delete();
+		}
+
+		OpenOSRSSplashScreen.init("Stable");
+		OpenOSRSSplashScreen.stage(.5, "Training");
+		// let the progress timer paint a frame
+		Thread.sleep(500);
+		OpenOSRSSplashScreen.close();
+
+		System.exit(0);
+	}
+}
@@ -0,0 +1,628 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.sigpipe.jbsdiff.InvalidHeaderException;
+import io.sigpipe.jbsdiff.Patch;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.launcher.beans.Artifact;
+import net.runelite.launcher.beans.Diff;
+import org.apache.commons.compress.compressors.CompressorException;
+
+@Slf4j
+class ArtifactDownloader
+{
+	private static final int MAX_ATTEMPTS = 3;
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	// how often the resume offset of a partial download is saved
+	private static final long PART_INFO_INTERVAL = 8 * BUFFER_SIZE;
+
+	private static final Gson GSON = new Gson();
+
+	// one per download thread, shared by all downloads of the launcher
+	private static final BufferPool BUFFERS = new BufferPool(BUFFER_SIZE, 8);
+
+	private final ArtifactStore store;
+	private final int threads;
+	private final LaunchGraph.Progress progress;
+	private int threadPriority = Thread.NORM_PRIORITY;
+
+	// bytes downloaded over all artifacts, shared by the download threads
+	private final AtomicInteger downloaded = new AtomicInteger();
+	private final AtomicInteger totalBytes = new AtomicInteger();
+
+	// verified downloads waiting to be synced and moved into place
+	private final List<Pending> pending = Collections.synchronizedList(new ArrayList<>());
+
+	ArtifactDownloader(ArtifactStore store, int threads, LaunchGraph.Progress progress)
+	{
+		this.store = store;
+		this.threads = Math.max(1, threads);
+		this.progress = progress;
+	}
+
+	/**
+	 * Priority of the download threads, lowered for downloads in the background
+	 */
+	void setThreadPriority(int threadPriority)
+	{
+		this.threadPriority = threadPriority;
+	}
+
+	static int defaultThreads()
+	{
+		// Downloads are mostly latency bound, so go a bit wider than the core count on small machines
+		// but don't open more than a handful of connections to the artifact host
+		return Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+	}
+
+	void download(List<Artifact> artifacts) throws IOException
+	{
+		if (artifacts.isEmpty())
+		{
+			return;
+		}
+
+		Map<Artifact, Diff> diffs = new HashMap<>();
+		for (Artifact artifact : artifacts)
+		{
+			Diff diff = findDiff(artifact);
+			if (diff != null)
+			{
+				diffs.put(artifact, diff);
+			}
+		}
+
+		// Start the largest transfers first, the small ones fill in the gaps on the other threads
+		List<Artifact> queue = new ArrayList<>(artifacts);
+		queue.sort(Comparator.comparingInt((Artifact a) -> downloadSize(a, diffs.get(a))).reversed());
+
+		pending.clear();
+		downloaded.set(0);
+		totalBytes.set(queue.stream().mapToInt(a -> downloadSize(a, diffs.get(a))).sum());
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, queue.size()), new ThreadFactoryBuilder()
+			.setNameFormat("artifact-downloader-%d")
+			.setDaemon(true)
+			.setPriority(threadPriority)
+			.build());
+		try
+		{
+			Map<Artifact, Future<?>> futures = new LinkedHashMap<>();
+			for (Artifact artifact : queue)
+			{
+				futures.put(artifact, executor.submit(() ->
+				{
+					downloadArtifact(artifact, diffs.get(artifact));
+					return null;
+				}));
+			}
+
+			IOException failure = null;
+			for (Map.Entry<Artifact, Future<?>> entry : futures.entrySet())
+			{
+				try
+				{
+					entry.getValue().get();
+				}
+				catch (ExecutionException ex)
+				{
+					log.error("unable to download {}", entry.getKey().getName(), ex.getCause());
+					if (failure == null)
+					{
+						failure = new IOException("unable to download " + entry.getKey().getName());
+					}
+					failure.addSuppressed(ex.getCause());
+				}
+				catch (InterruptedException ex)
+				{
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted while downloading artifacts");
+				}
+			}
+
+			// Put everything which did download into place, even if other artifacts failed
+			commit();
+
+			if (failure != null)
+			{
+				throw failure;
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private Diff findDiff(Artifact artifact)
+	{
+		if (artifact.getDiffs() == null)
+		{
+			return null;
+		}
+
+		for (Diff diff : artifact.getDiffs())
+		{
+			File old = store.diffSource(diff);
+
+			String oldHash;
+			try
+			{
+				oldHash = store.hash(old);
+			}
+			catch (FileNotFoundException ex)
+			{
+				continue;
+			}
+			catch (IOException ex)
+			{
+				log.debug("unable to hash {}", old, ex);
+				continue;
+			}
+
+			// Only usable if we still have the exact file the diff was made from
+			if (diff.getFromHash().equals(oldHash))
+			{
+				return diff;
+			}
+		}
+
+		return null;
+	}
+
+	private static int downloadSize(Artifact artifact, Diff diff)
+	{
+		return diff != null ? diff.getSize() : artifact.getSize();
+	}
+
+	private void downloadArtifact(Artifact artifact, Diff diff) throws IOException
+	{
+		if (diff != null)
+		{
+			if (patchArtifact(artifact, diff))
+			{
+				return;
+			}
+
+			// Fall back to the full artifact, and adjust the total for the difference
+			totalBytes.addAndGet(artifact.getSize() - diff.getSize());
+		}
+
+		File dest = store.file(artifact);
+		File part = store.partFile(artifact);
+		File partInfo = store.partInfoFile(artifact);
+
+		for (int attempt = 1; ; ++attempt)
+		{
+			log.debug("Downloading {} (attempt {}/{})", artifact.getName(), attempt, MAX_ATTEMPTS);
+
+			// the bytes of this attempt which have been counted towards the total
+			final int[] counted = {0};
+			try
+			{
+				downloadPart(artifact, part, partInfo, progress(artifact.getName(), counted));
+				pending.add(new Pending(part, dest, partInfo, artifact.getHash()));
+				return;
+			}
+			catch (IOException | VerificationException ex)
+			{
+				downloaded.addAndGet(-counted[0]);
+
+				if (ex instanceof VerificationException)
+				{
+					// the partial file is no good, start over from scratch next time
+					part.delete();
+					partInfo.delete();
+				}
+
+				if (attempt >= MAX_ATTEMPTS)
+				{
+					if (ex instanceof VerificationException)
+					{
+						// leave it to the verification stage to report
+						log.warn("unable to verify jar {}", artifact.getName(), ex);
+						return;
+					}
+					throw (IOException) ex;
+				}
+
+				log.warn("error downloading {}, retrying", artifact.getName(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Downloads an artifact into its .part file, continuing from where a previous attempt left off
+	 * if the part file is for the same artifact hash and the server supports range requests.
+	 */
+	private static void downloadPart(Artifact artifact, File part, File partInfo, IntConsumer progress) throws IOException, VerificationException
+	{
+		long offset = 0;
+		PartInfo info = readPartInfo(partInfo);
+		if (info != null && artifact.getHash().equals(info.hash) && part.exists())
+		{
+			offset = Math.min(info.offset, part.length());
+			if (offset >= artifact.getSize())
+			{
+				// Nothing left to request. Either a previous run was stopped after downloading this but
+				// before moving it into place, or it didn't verify.
+				if (artifact.getHash().equals(FileHasher.hash(part)))
+				{
+					log.debug("Already downloaded {}", artifact.getName());
+					progress.accept((int) offset);
+					return;
+				}
+
+				offset = 0;
+			}
+		}
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		if (offset > 0)
+		{
+			// re-seed the hash with what is already on disk
+			Files.asByteSource(part).slice(0, offset).copyTo(Funnels.asOutputStream(hasher));
+		}
+
+		HttpResponse<InputStream> response = HttpTransport.get(artifact.getPath(), offset);
+		if (offset > 0)
+		{
+			if (response.statusCode() == HttpURLConnection.HTTP_PARTIAL)
+			{
+				log.debug("Resuming {} from {} bytes", artifact.getName(), offset);
+			}
+			else
+			{
+				log.debug("Server ignored range request for {}, starting over", artifact.getName());
+				offset = 0;
+				hasher = Hashing.sha256().newHasher();
+			}
+		}
+
+		ByteBuffer buffer = BUFFERS.acquire();
+		try (FileChannel out = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			ReadableByteChannel in = Channels.newChannel(response.body()))
+		{
+			out.truncate(offset);
+			out.position(offset);
+			writePartInfo(partInfo, artifact.getHash(), offset);
+			progress.accept((int) offset);
+
+			long saved = offset;
+			int i;
+			try
+			{
+				while ((i = transfer(in, buffer, hasher, out)) != -1)
+				{
+					offset += i;
+					progress.accept((int) offset);
+
+					if (offset - saved >= PART_INFO_INTERVAL)
+					{
+						writePartInfo(partInfo, artifact.getHash(), offset);
+						saved = offset;
+					}
+				}
+			}
+			finally
+			{
+				writePartInfo(partInfo, artifact.getHash(), offset);
+			}
+		}
+		finally
+		{
+			BUFFERS.release(buffer);
+		}
+
+		HashCode hashCode = hasher.hash();
+		if (!artifact.getHash().equals(hashCode.toString()))
+		{
+			throw new VerificationException("Unable to verify resource " + artifact.getPath() + " - expected " + artifact.getHash() + " got " + hashCode.toString());
+		}
+	}
+
+	/**
+	 * Fill the buffer from a download and write it out, hashing it straight from the buffer. The response
+	 * body still arrives on the heap and is copied into the buffer, but the buffers are pooled rather than
+	 * allocated per download, and parts are written through a file channel instead of a RandomAccessFile.
+	 * Reading until the buffer is full keeps each write and hash update to one large chunk rather than
+	 * however little the connection had ready.
+	 *
+	 * @return the number of bytes transferred, or -1 at the end of the download
+	 */
+	static int transfer(ReadableByteChannel in, ByteBuffer buffer, Hasher hasher, WritableByteChannel out) throws IOException
+	{
+		buffer.clear();
+		int read = 0;
+		while (buffer.hasRemaining())
+		{
+			int i = in.read(buffer);
+			if (i == -1)
+			{
+				break;
+			}
+			read += i;
+		}
+
+		if (read == 0)
+		{
+			return -1;
+		}
+
+		buffer.flip();
+		hasher.putBytes(buffer.duplicate());
+		while (buffer.hasRemaining())
+		{
+			out.write(buffer);
+		}
+		return read;
+	}
+
+	private static PartInfo readPartInfo(File partInfo)
+	{
+		try (Reader reader = new InputStreamReader(new FileInputStream(partInfo), StandardCharsets.UTF_8))
+		{
+			return GSON.fromJson(reader, PartInfo.class);
+		}
+		catch (FileNotFoundException ex)
+		{
+			return null;
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.debug("unable to read {}", partInfo, ex);
+			return null;
+		}
+	}
+
+	private static void writePartInfo(File partInfo, String hash, long offset) throws IOException
+	{
+		PartInfo info = new PartInfo();
+		info.hash = hash;
+		info.offset = offset;
+
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(partInfo), StandardCharsets.UTF_8))
+		{
+			GSON.toJson(info, writer);
+		}
+	}
+
+	/**
+	 * Sync all of the verified downloads to disk, then move them over the artifacts. A crash at any point
+	 * leaves each artifact either as it was or fully updated, never partially written.
+	 */
+	private void commit() throws IOException
+	{
+		synchronized (pending)
+		{
+			for (Pending p : pending)
+			{
+				try (FileChannel channel = FileChannel.open(p.file.toPath(), StandardOpenOption.WRITE))
+				{
+					channel.force(true);
+				}
+			}
+
+			for (Pending p : pending)
+			{
+				AtomicFiles.move(p.file, p.dest);
+				if (p.partInfo != null)
+				{
+					p.partInfo.delete();
+				}
+				store.record(p.dest, p.hash);
+			}
+
+			if (!pending.isEmpty())
+			{
+				syncDirectory(store.getDir());
+			}
+
+			pending.clear();
+		}
+	}
+
+	private static void syncDirectory(File dir)
+	{
+		// Persists the renames. Directories can't be opened on Windows, where NTFS journals them anyway.
+		try (FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ))
+		{
+			channel.force(true);
+		}
+		catch (IOException ex)
+		{
+			log.debug("unable to sync {}", dir, ex);
+		}
+	}
+
+	private boolean patchArtifact(Artifact artifact, Diff diff)
+	{
+		log.debug("Downloading diff {}", diff.getName());
+
+		final int[] counted = {0};
+		File tmp = null;
+		try
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream(diff.getSize());
+			download(diff.getPath(), diff.getHash(), progress(diff.getName(), counted), out);
+
+			tmp = File.createTempFile(artifact.getHash(), ".tmp", store.getDir());
+			HashCode hash = applyDiff(store.diffSource(diff), out.toByteArray(), tmp);
+
+			if (artifact.getHash().equals(hash.toString()))
+			{
+				log.debug("Patching successful for {}", artifact.getName());
+				pending.add(new Pending(tmp, store.file(artifact), null, artifact.getHash()));
+				tmp = null;
+				return true;
+			}
+
+			log.debug("Patched artifact hash mismatches! {}: got {} expected {}", artifact.getName(), hash, artifact.getHash());
+		}
+		catch (IOException | VerificationException | CompressorException | InvalidHeaderException ex)
+		{
+			log.warn("unable to apply diff {}", diff.getName(), ex);
+			// Fall through and download the full artifact
+		}
+		finally
+		{
+			if (tmp != null)
+			{
+				tmp.delete();
+			}
+		}
+
+		downloaded.addAndGet(-counted[0]);
+		return false;
+	}
+
+	/**
+	 * Applies a gzipped bsdiff patch to {@code old}, writing the result to {@code out}
+	 *
+	 * @return the sha256 of the patched file
+	 */
+	static HashCode applyDiff(File old, byte[] diff, File out) throws IOException, CompressorException, InvalidHeaderException
+	{
+		byte[] patch;
+		try (InputStream patchStream = new GZIPInputStream(new ByteArrayInputStream(diff)))
+		{
+			patch = ByteStreams.toByteArray(patchStream);
+		}
+
+		try (HashingOutputStream hout = new HashingOutputStream(Hashing.sha256(), new BufferedOutputStream(new FileOutputStream(out))))
+		{
+			Patch.patch(Files.toByteArray(old), patch, hout);
+			return hout.hash();
+		}
+	}
+
+	private IntConsumer progress(String name, int[] counted)
+	{
+		return (completed) ->
+		{
+			int done = downloaded.addAndGet(completed - counted[0]);
+			counted[0] = completed;
+			progress.updateBytes(name, done, totalBytes.get());
+		};
+	}
+
+	static void download(String path, String hash, IntConsumer progress, OutputStream out) throws IOException, VerificationException
+	{
+		int downloaded = 0;
+		Hasher hasher = Hashing.sha256().newHasher();
+		ByteBuffer buffer = BUFFERS.acquire();
+		try (ReadableByteChannel in = Channels.newChannel(HttpTransport.get(path, 0).body()))
+		{
+			WritableByteChannel outChannel = Channels.newChannel(out);
+			int i;
+			while ((i = transfer(in, buffer, hasher, outChannel)) != -1)
+			{
+				downloaded += i;
+				progress.accept(downloaded);
+			}
+		}
+		finally
+		{
+			BUFFERS.release(buffer);
+		}
+
+		HashCode hashCode = hasher.hash();
+		if (!hash.equals(hashCode.toString()))
+		{
+			throw new VerificationException("Unable to verify resource " + path + " - expected " + hash + " got " + hashCode.toString());
+		}
+	}
+
+	private static class PartInfo
+	{
+		private String hash;
+		private long offset;
+	}
+
+	private static class Pending
+	{
+		private final File file;
+		private final File dest;
+		private final File partInfo;
+		private final String hash;
+
+		Pending(File file, File dest, File partInfo, String hash)
+		{
+			this.file = file;
+			this.dest = dest;
+			this.partInfo = partInfo;
+			this.hash = hash;
+		}
+	}
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.io.Files;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.launcher.beans.Artifact;
+import net.runelite.launcher.beans.Diff;
+
+/**
+ * The artifact repository. Artifacts are stored by their sha256 instead of their name, so
+ * artifacts which are identical between the stable, nightly and staging channels are only
+ * stored once, and switching between channels doesn't download them again.
+ */
+@Slf4j
+class ArtifactStore
+{
+	// artifacts only used by a channel which hasn't been launched in this long are cleaned up
+	private static final long CHANNEL_EXPIRY = TimeUnit.DAYS.toMillis(30);
+
+	static final String PART_SUFFIX = ".part";
+	static final String PART_INFO_SUFFIX = ".part.json";
+
+	private static final Gson GSON = new Gson();
+
+	private static final String INDEX_FILE = "index.json";
+	// files stored by their hash, as opposed to by name like the launcher used to
+	private static final Pattern HASHED_NAME = Pattern.compile("[0-9a-f]{64}(\\.[^.]+)?");
+	// the channel the jars which were stored by name are recorded under
+	static final String MIGRATED_CHANNEL = "migrated";
+
+	private final File dir;
+	private final File channelsDir;
+	private final HashIndex index;
+
+	ArtifactStore(File dir)
+	{
+		this.dir = dir;
+		this.channelsDir = new File(dir, "channels");
+		this.index = new HashIndex(new File(dir, INDEX_FILE));
+	}
+
+	File getDir()
+	{
+		return dir;
+	}
+
+	/**
+	 * Hash a file in the repository, using the hash index if the file is unchanged since it was last hashed
+	 */
+	String hash(File file) throws IOException
+	{
+		return index.hash(file);
+	}
+
+	/**
+	 * Hash several files in the repository in parallel. Files which don't exist are left out.
+	 */
+	Map<File, String> hashAll(Collection<File> files, IntConsumer progress) throws IOException
+	{
+		return index.hashAll(files, progress);
+	}
+
+	/**
+	 * Record the hash of a file computed while it was written into the repository
+	 */
+	void record(File file, String hash) throws IOException
+	{
+		index.record(file, hash);
+	}
+
+	void setParanoid(boolean paranoid)
+	{
+		index.setParanoid(paranoid);
+	}
+
+	/**
+	 * Persist the hash index. Should only be called once the artifacts have been verified.
+	 */
+	void saveIndex()
+	{
+		index.save();
+	}
+
+	File file(Artifact artifact)
+	{
+		return file(artifact.getHash(), artifact.getName());
+	}
+
+	/**
+	 * The file the artifact named {@code name} with the given hash is stored at. The extension of the
+	 * name is kept, so the files are still recognizable as jars.
+	 */
+	File file(String hash, String name)
+	{
+		String extension = Files.getFileExtension(name);
+		return new File(dir, extension.isEmpty() ? hash : hash + "." + extension);
+	}
+
+	File partFile(Artifact artifact)
+	{
+		return new File(dir, file(artifact).getName() + PART_SUFFIX);
+	}
+
+	File partInfoFile(Artifact artifact)
+	{
+		return new File(dir, file(artifact).getName() + PART_INFO_SUFFIX);
+	}
+
+	File diffSource(Diff diff)
+	{
+		return file(diff.getFromHash(), diff.getFrom());
+	}
+
+	/**
+	 * Move every jar which is still stored by name, as the launcher used to, to its hash. That includes
+	 * older versions, which updates can be diffed from, and jars of other channels. They are recorded as
+	 * used by the {@value #MIGRATED_CHANNEL} channel, so they are kept as long as any other channel's.
+	 */
+	void migrate()
+	{
+		File[] files = dir.listFiles((d, name) -> name.endsWith(".jar") && !HASHED_NAME.matcher(name).matches());
+		if (files == null || files.length == 0)
+		{
+			return;
+		}
+
+		Set<File> migrated = new HashSet<>();
+		for (File old : files)
+		{
+			if (!old.isFile())
+			{
+				continue;
+			}
+
+			try
+			{
+				String hash = FileHasher.hash(old);
+				File dest = file(hash, old.getName());
+				if (dest.exists())
+				{
+					// already downloaded by hash
+					java.nio.file.Files.delete(old.toPath());
+				}
+				else
+				{
+					java.nio.file.Files.move(old.toPath(), dest.toPath());
+					record(dest, hash);
+					log.debug("Migrated {} to {}", old.getName(), dest.getName());
+				}
+				migrated.add(dest);
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to migrate {}", old, ex);
+			}
+		}
+
+		List<String> previous = readChannel(new File(channelsDir, MIGRATED_CHANNEL + ".json"));
+		if (previous != null)
+		{
+			migrated.addAll(previous.stream()
+				.map(name -> new File(dir, name))
+				.collect(Collectors.toList()));
+		}
+		saveChannel(MIGRATED_CHANNEL, migrated);
+	}
+
+	/**
+	 * Record the artifacts the given channel currently uses, so they are kept when launching other channels
+	 */
+	void saveChannel(String channel, List<Artifact> artifacts)
+	{
+		saveChannel(channel, artifacts.stream()
+			.map(this::file)
+			.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Record the files in the repository the given channel currently uses
+	 */
+	void saveChannel(String channel, Collection<File> repositoryFiles)
+	{
+		channelsDir.mkdirs();
+
+		Set<String> files = repositoryFiles.stream()
+			.map(File::getName)
+			.collect(Collectors.toSet());
+
+		try
+		{
+			// clean() by a launcher on another channel must never see a half written manifest
+			AtomicFiles.write(new File(channelsDir, channel + ".json"), false, out ->
+			{
+				Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+				GSON.toJson(files, writer);
+				writer.flush();
+			});
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to save artifacts for channel {}", channel, ex);
+		}
+	}
+
+	/**
+	 * Mark the channel as recently launched without changing its artifacts
+	 */
+	void touchChannel(String channel)
+	{
+		File file = new File(channelsDir, channel + ".json");
+		if (file.exists() && !file.setLastModified(System.currentTimeMillis()))
+		{
+			log.debug("unable to touch channel {}", channel);
+		}
+	}
+
+	/**
+	 * Delete everything which isn't used by the given artifacts or by another recently launched channel
+	 */
+	void clean(List<Artifact> artifacts)
+	{
+		File[] existingFiles = dir.listFiles();
+
+		if (existingFiles == null)
+		{
+			return;
+		}
+
+		Set<String> keep = new HashSet<>();
+		keep.add(INDEX_FILE);
+		for (Artifact artifact : artifacts)
+		{
+			keep.add(file(artifact).getName());
+			// Keep partial downloads so they can be resumed
+			keep.add(partFile(artifact).getName());
+			keep.add(partInfoFile(artifact).getName());
+			if (artifact.getDiffs() != null)
+			{
+				// Keep around the old files which diffs are from
+				for (Diff diff : artifact.getDiffs())
+				{
+					keep.add(diffSource(diff).getName());
+				}
+			}
+		}
+
+		File[] channels = channelsDir.listFiles((d, name) -> name.endsWith(".json"));
+		if (channels != null)
+		{
+			for (File channel : channels)
+			{
+				if (System.currentTimeMillis() - channel.lastModified() > CHANNEL_EXPIRY)
+				{
+					log.debug("Channel {} has expired", channel.getName());
+					channel.delete();
+					continue;
+				}
+
+				List<String> files = readChannel(channel);
+				if (files == null)
+				{
+					// Without knowing what the channel uses, anything could be one of its artifacts
+					log.warn("Not cleaning the repository, the artifacts of channel {} are unknown", channel.getName());
+					return;
+				}
+				keep.addAll(files);
+			}
+		}
+
+		for (File file : existingFiles)
+		{
+			if (file.isFile() && !keep.contains(file.getName()))
+			{
+				if (file.delete())
+				{
+					log.debug("Deleted old artifact {}", file);
+				}
+				else
+				{
+					log.warn("Unable to delete old artifact {}", file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the files the channel uses, or null if its manifest can't be read
+	 */
+	private static List<String> readChannel(File channel)
+	{
+		try (Reader reader = new InputStreamReader(new FileInputStream(channel), StandardCharsets.UTF_8))
+		{
+			String[] files = GSON.fromJson(reader, String[].class);
+			if (files == null)
+			{
+				log.warn("channel {} is empty", channel);
+				return null;
+			}
+			return Arrays.asList(files);
+		}
+		catch (FileNotFoundException ex)
+		{
+			return List.of();
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.warn("unable to read channel {}", channel, ex);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.launcher.beans.Bootstrap;
+
+/**
+ * Caches the last bootstrap of each channel along with its ETag and Last-Modified headers, so it can be
+ * revalidated with a conditional request instead of being downloaded and parsed again.
+ */
+@Slf4j
+class BootstrapCache
+{
+	private static final Gson GSON = new Gson();
+
+	private final File dir;
+
+	BootstrapCache(File dir)
+	{
+		this.dir = dir;
+	}
+
+	static class Result
+	{
+		// parsed on first use, a launch plan for the same hash doesn't need the bootstrap at all
+		private final Supplier<Bootstrap> bootstrap;
+		// sha256 of the bootstrap json
+		@Getter
+		private final String hash;
+		@Getter
+		private final boolean notModified;
+
+		private Result(String body, boolean notModified)
+		{
+			this.bootstrap = Suppliers.memoize(() -> GSON.fromJson(body, Bootstrap.class));
+			this.hash = hash(body);
+			this.notModified = notModified;
+		}
+
+		Bootstrap getBootstrap()
+		{
+			return bootstrap.get();
+		}
+	}
+
+	Result fetch(String channel, String url) throws IOException
+	{
+		Cached cached = read(channel);
+
+		HttpRequest.Builder builder = HttpTransport.request(url).GET();
+		if (cached != null)
+		{
+			if (cached.etag != null)
+			{
+				builder.header("If-None-Match", cached.etag);
+			}
+			if (cached.lastModified != null)
+			{
+				builder.header("If-Modified-Since", cached.lastModified);
+			}
+		}
+
+		// streamed so a stalled body times out rather than blocking the launch
+		HttpResponse<InputStream> response = HttpTransport.send(builder.build(), HttpTransport.ofInputStream());
+		byte[] bytes;
+		try (InputStream in = response.body())
+		{
+			if (response.statusCode() == 304 && cached != null)
+			{
+				log.debug("Bootstrap for {} is unchanged", channel);
+				return parse(cached.body, true);
+			}
+
+			if (response.statusCode() != 200)
+			{
+				throw new IOException("Unable to download " + url + " - " + response.statusCode());
+			}
+
+			bytes = in.readAllBytes();
+		}
+
+		String body = new String(bytes, StandardCharsets.UTF_8);
+		Result result = parse(body, false);
+
+		Cached update = new Cached();
+		update.etag = response.headers().firstValue("ETag").orElse(null);
+		update.lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+		update.body = body;
+		update.verifiedHash = cached != null ? cached.verifiedHash : null;
+		update.verifiedBody = cached != null ? cached.verifiedBody : null;
+		write(channel, update);
+
+		return result;
+	}
+
+	/**
+	 * Whether the artifacts of the bootstrap with the given hash have been verified before
+	 */
+	boolean isVerified(String channel, String hash)
+	{
+		Cached cached = read(channel);
+		return cached != null && hash.equals(cached.verifiedHash);
+	}
+
+	void markVerified(String channel, String hash)
+	{
+		Cached cached = read(channel);
+		// the cached body may already be newer than the verified one if it was revalidated in the background
+		if (cached != null && hash.equals(hash(cached.body))
+			&& (!hash.equals(cached.verifiedHash) || cached.verifiedBody == null))
+		{
+			cached.verifiedHash = hash;
+			cached.verifiedBody = cached.body;
+			write(channel, cached);
+		}
+	}
+
+	/**
+	 * The last bootstrap of the channel whose artifacts were verified, which can be launched without
+	 * reaching the bootstrap host
+	 */
+	Result lastVerified(String channel)
+	{
+		Cached cached = read(channel);
+		if (cached == null || cached.verifiedBody == null)
+		{
+			return null;
+		}
+
+		return parse(cached.verifiedBody, true);
+	}
+
+	private static Result parse(String body, boolean notModified)
+	{
+		Result result = new Result(body, notModified);
+		if (!notModified)
+		{
+			// a new bootstrap is parsed up front, so a malformed one fails the fetch and can be fallen back from
+			result.getBootstrap();
+		}
+		return result;
+	}
+
+	private static String hash(String body)
+	{
+		return Hashing.sha256().hashString(body, StandardCharsets.UTF_8).toString();
+	}
+
+	private Cached read(String channel)
+	{
+		try (Reader reader = new InputStreamReader(new FileInputStream(new File(dir, channel + ".json")), StandardCharsets.UTF_8))
+		{
+			Cached cached = GSON.fromJson(reader, Cached.class);
+			return cached != null && cached.body != null ? cached : null;
+		}
+		catch (FileNotFoundException ex)
+		{
+			return null;
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.warn("unable to read cached bootstrap for {}", channel, ex);
+			return null;
+		}
+	}
+
+	private void write(String channel, Cached cached)
+	{
+		dir.mkdirs();
+
+		try
+		{
+			AtomicFiles.write(new File(dir, channel + ".json"), false, out ->
+			{
+				Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+				GSON.toJson(cached, writer);
+				writer.flush();
+			});
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to cache bootstrap for {}", channel, ex);
+		}
+	}
+
+	private static class Cached
+	{
+		private String etag;
+		private String lastModified;
+		private String body;
+		// hash of the body the last time its artifacts were verified
+		private String verifiedHash;
+		// the bootstrap that was verified, kept to launch from when the bootstrap host can't be reached
+		private String verifiedBody;
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A pool of direct buffers. Direct buffers are costly to allocate and are only freed by gc, so they are
+ * kept around to be reused rather than allocated per download.
+ */
+class BufferPool
+{
+	private final int bufferSize;
+	private final Queue<ByteBuffer> free;
+
+	/**
+	 * @param bufferSize size of each buffer
+	 * @param retained   how many released buffers are kept, any more are left to gc
+	 */
+	BufferPool(int bufferSize, int retained)
+	{
+		this.bufferSize = bufferSize;
+		this.free = new ArrayBlockingQueue<>(retained);
+	}
+
+	ByteBuffer acquire()
+	{
+		ByteBuffer buffer = free.poll();
+		if (buffer == null)
+		{
+			return ByteBuffer.allocateDirect(bufferSize);
+		}
+
+		buffer.clear();
+		return buffer;
+	}
+
+	void release(ByteBuffer buffer)
+	{
+		free.offer(buffer);
+	}
+}
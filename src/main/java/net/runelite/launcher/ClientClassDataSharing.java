@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dynamic AppCDS archives for the client. The first launch of a classpath dumps the classes the client
+ * loaded into an archive as it exits, and later launches of the same classpath map them in instead of
+ * loading and verifying them from the jars again.
+ */
+@Slf4j
+class ClientClassDataSharing
+{
+	private static final long ARCHIVE_EXPIRY = TimeUnit.DAYS.toMillis(30);
+	private static final String ARCHIVE_EXTENSION = ".jsa";
+
+	/**
+	 * @param create whether to create the archive if there isn't one yet
+	 */
+	static List<String> getJvmArguments(File dir, List<File> classpath, boolean create)
+	{
+		// dynamic archives need 13+
+		if (OS.getOs() != OS.OSType.Linux || Runtime.version().feature() < 13)
+		{
+			return Collections.emptyList();
+		}
+
+		dir.mkdirs();
+
+		File archive = new File(dir, key(classpath) + ARCHIVE_EXTENSION);
+		clean(dir, archive);
+
+		// 0 if there is no archive yet
+		if (archive.length() > 0)
+		{
+			log.debug("Using class data sharing archive {}", archive);
+			archive.setLastModified(System.currentTimeMillis());
+			// the jvm falls back to loading from the jars if the archive doesn't match
+			return List.of("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+		}
+
+		if (!create)
+		{
+			return Collections.emptyList();
+		}
+
+		log.debug("Creating class data sharing archive {}", archive);
+		return List.of("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+	}
+
+	/**
+	 * The archive is only usable with the jvm that created it and the exact same jars, which the jvm
+	 * checks by path, size and modification time. Artifacts are stored by hash, so an artifact update
+	 * changes the path too.
+	 */
+	private static String key(List<File> classpath)
+	{
+		Hasher hasher = Hashing.sha256().newHasher()
+			.putString(System.getProperty("java.home"), StandardCharsets.UTF_8)
+			.putString(System.getProperty("java.vm.version"), StandardCharsets.UTF_8);
+		for (File file : classpath)
+		{
+			hasher.putString(file.getAbsolutePath(), StandardCharsets.UTF_8)
+				.putLong(file.length())
+				.putLong(file.lastModified());
+		}
+		return hasher.hash().toString();
+	}
+
+	private static void clean(File dir, File current)
+	{
+		File[] archives = dir.listFiles((d, name) -> name.endsWith(ARCHIVE_EXTENSION));
+		if (archives == null)
+		{
+			return;
+		}
+
+		for (File archive : archives)
+		{
+			// archives are touched when used, so these are for classpaths which haven't been launched in a while
+			if (!archive.equals(current) && System.currentTimeMillis() - archive.lastModified() > ARCHIVE_EXPIRY)
+			{
+				if (archive.delete())
+				{
+					log.debug("Deleted class data sharing archive {}", archive);
+				}
+			}
+		}
+	}
+}
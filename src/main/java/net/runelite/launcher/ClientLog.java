@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The client's stdout and stderr go to a log file per instance, rotated by size when the client is launched,
+ * and also while it is running if the launcher is copying the output
+ */
+@Slf4j
+class ClientLog
+{
+	private static final long MAX_SIZE = 10 * 1024 * 1024;
+	private static final int MAX_FILES = 5;
+
+	/**
+	 * Get the log file for a client, rotating the previous logs if it has grown past the size limit
+	 *
+	 * @param dir  the logs directory
+	 * @param name the base name of the log, different for each instance
+	 */
+	static File rotate(File dir, String name)
+	{
+		File file = new File(dir, name + ".log");
+		if (file.length() < MAX_SIZE)
+		{
+			return file;
+		}
+
+		try
+		{
+			// name.log -> name.1.log -> ... -> name.<MAX_FILES - 1>.log, which is replaced
+			for (int i = MAX_FILES - 1; i > 0; --i)
+			{
+				File from = i == 1 ? file : new File(dir, name + "." + (i - 1) + ".log");
+				if (from.exists())
+				{
+					Files.move(from.toPath(), new File(dir, name + "." + i + ".log").toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			// on Windows the log can't be moved while another client still has it open, so carry on appending
+			log.warn("unable to rotate client log {}", file, ex);
+		}
+
+		return file;
+	}
+
+	/**
+	 * Copy the client's output to its log file, and to {@code echo} if it isn't null, until the client exits.
+	 * The log is rotated once it passes the size limit, which is only possible because the launcher holds
+	 * the only handle to it.
+	 *
+	 * @param dir  the logs directory
+	 * @param name the base name of the log, different for each instance
+	 */
+	static void pump(InputStream in, File dir, String name, PrintStream echo) throws IOException
+	{
+		byte[] buffer = new byte[8192];
+		try (InputStream input = in)
+		{
+			File file = rotate(dir, name);
+			OutputStream out = new FileOutputStream(file, true);
+			try
+			{
+				long size = file.length();
+				// if the log couldn't be rotated, try again once it has grown by another MAX_SIZE
+				long limit = size < MAX_SIZE ? MAX_SIZE : size + MAX_SIZE;
+				for (int n; (n = input.read(buffer)) != -1; )
+				{
+					if (size >= limit)
+					{
+						out.close();
+						file = rotate(dir, name);
+						out = new FileOutputStream(file, true);
+						size = file.length();
+						limit = size < MAX_SIZE ? MAX_SIZE : size + MAX_SIZE;
+					}
+
+					out.write(buffer, 0, n);
+					out.flush();
+					size += n;
+					if (echo != null)
+					{
+						echo.write(buffer, 0, n);
+						echo.flush();
+					}
+				}
+			}
+			finally
+			{
+				out.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches launched clients and restarts the ones which crash, backing off if they keep crashing. The
+ * state of each instance is kept in a json file in the logs directory for monitoring.
+ */
+@Slf4j
+class ClientSupervisor
+{
+	interface Launch
+	{
+		/**
+		 * @return the new client process, or null if it can't be started
+		 */
+		Process start() throws IOException;
+	}
+
+	private static final Duration MIN_BACKOFF = Duration.ofSeconds(5);
+	private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+	// a client which ran this long started fine, so its next crash isn't counted against it
+	private static final Duration STABLE_UPTIME = Duration.ofMinutes(10);
+	private static final int MAX_QUICK_CRASHES = 10;
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+	private final File crashFiles;
+	private final File stateFile;
+	private final Map<Integer, InstanceState> states = new TreeMap<>();
+
+	/**
+	 * @param crashFiles the jvm crash log location, with %p for the pid
+	 * @param stateFile  where the state of the instances is written
+	 */
+	ClientSupervisor(File crashFiles, File stateFile)
+	{
+		this.crashFiles = crashFiles;
+		this.stateFile = stateFile;
+	}
+
+	/**
+	 * Watch a client on a new thread. The thread is not a daemon, so the launcher stays around for as long
+	 * as it is supervising.
+	 */
+	void supervise(int instance, Process process, Launch launch)
+	{
+		Thread thread = new Thread(() ->
+		{
+			try
+			{
+				run(instance, process, launch);
+			}
+			catch (InterruptedException ex)
+			{
+				log.debug("supervisor for client {} interrupted", instance);
+			}
+		}, "client-supervisor-" + instance);
+		thread.start();
+	}
+
+	private void run(int instance, Process process, Launch launch) throws InterruptedException
+	{
+		Duration backoff = MIN_BACKOFF;
+		int quickCrashes = 0;
+
+		while (process != null)
+		{
+			Instant started = Instant.now();
+			started(instance, process, started);
+
+			int exitCode = process.waitFor();
+			Duration uptime = Duration.between(started, Instant.now());
+			File crashFile = new File(crashFiles.getPath().replace("%p", Long.toString(process.pid())));
+			exited(instance, exitCode, uptime, crashFile.exists() ? crashFile : null);
+
+			if (exitCode == 0)
+			{
+				log.info("Client {} exited after {}", instance, uptime);
+				return;
+			}
+
+			if (crashFile.exists())
+			{
+				log.warn("Client {} (pid {}) crashed with exit code {} after {}, see {}", instance, process.pid(), exitCode, uptime, crashFile);
+			}
+			else
+			{
+				log.warn("Client {} (pid {}) exited with code {} after {}", instance, process.pid(), exitCode, uptime);
+			}
+
+			if (uptime.compareTo(STABLE_UPTIME) >= 0)
+			{
+				backoff = MIN_BACKOFF;
+				quickCrashes = 0;
+			}
+			else if (++quickCrashes >= MAX_QUICK_CRASHES)
+			{
+				log.error("Client {} crashed {} times in a row soon after starting, not restarting it", instance, quickCrashes);
+				return;
+			}
+
+			log.info("Restarting client {} in {}", instance, backoff);
+			Thread.sleep(backoff.toMillis());
+			backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) < 0 ? backoff.multipliedBy(2) : MAX_BACKOFF;
+
+			try
+			{
+				process = launch.start();
+			}
+			catch (IOException ex)
+			{
+				log.error("unable to restart client {}", instance, ex);
+				return;
+			}
+		}
+	}
+
+	private synchronized void started(int instance, Process process, Instant started)
+	{
+		InstanceState state = states.get(instance);
+		if (state == null)
+		{
+			state = new InstanceState();
+			states.put(instance, state);
+		}
+		else
+		{
+			state.restarts++;
+		}
+
+		state.pid = process.pid();
+		state.started = started.toString();
+		state.running = true;
+		save();
+	}
+
+	private synchronized void exited(int instance, int exitCode, Duration uptime, File crashFile)
+	{
+		InstanceState state = states.get(instance);
+		state.running = false;
+		state.lastExitCode = exitCode;
+		state.lastUptimeSeconds = uptime.getSeconds();
+		state.totalUptimeSeconds += uptime.getSeconds();
+		if (crashFile != null)
+		{
+			state.crashFiles++;
+			state.lastCrashFile = crashFile.getAbsolutePath();
+		}
+		save();
+	}
+
+	private void save()
+	{
+		try
+		{
+			AtomicFiles.write(stateFile, false, out ->
+			{
+				Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+				GSON.toJson(states, writer);
+				writer.flush();
+			});
+		}
+		catch (IOException ex)
+		{
+			log.debug("unable to write supervisor state", ex);
+		}
+	}
+
+	private static class InstanceState
+	{
+		private long pid;
+		private boolean running;
+		private String started;
+		private int restarts;
+		private Integer lastExitCode;
+		private long lastUptimeSeconds;
+		private long totalUptimeSeconds;
+		private int crashFiles;
+		private String lastCrashFile;
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * sha256 hashing of repository files. Files are read through a FileChannel into a direct buffer per
+ * thread rather than through a heap stream, and batches of files are hashed in parallel on a pool
+ * sized to the number of cores.
+ */
+class FileHasher
+{
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	interface FileHashFunction
+	{
+		String hash(File file) throws IOException;
+	}
+
+	static String hash(File file) throws IOException
+	{
+		Hasher hasher = Hashing.sha256().newHasher();
+		ByteBuffer buffer = BUFFERS.get();
+		buffer.clear();
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			while (channel.read(buffer) != -1)
+			{
+				buffer.flip();
+				hasher.putBytes(buffer);
+				buffer.clear();
+			}
+		}
+		catch (NoSuchFileException ex)
+		{
+			throw new FileNotFoundException(file.toString());
+		}
+
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * Hash the given files in parallel. Files which don't exist are left out of the result.
+	 *
+	 * @param progress called with the number of files hashed so far
+	 */
+	static Map<File, String> hashAll(Collection<File> files, FileHashFunction hashFunction, IntConsumer progress) throws IOException
+	{
+		Map<File, String> hashes = new ConcurrentHashMap<>();
+		AtomicInteger done = new AtomicInteger();
+
+		try
+		{
+			POOL.submit(() -> files.parallelStream().forEach(file ->
+			{
+				try
+				{
+					hashes.put(file, hashFunction.hash(file));
+				}
+				catch (FileNotFoundException ex)
+				{
+					// missing
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+
+				progress.accept(done.incrementAndGet());
+			})).get();
+		}
+		catch (ExecutionException ex)
+		{
+			if (ex.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) ex.getCause()).getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while hashing");
+		}
+
+		return hashes;
+	}
+}
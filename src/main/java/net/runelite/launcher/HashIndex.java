@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An on disk cache of the hashes of the files in the directory the index is stored in, keyed by the
+ * file's name, size, modification time and file key, so files which haven't changed since they were
+ * last hashed don't have to be read again.
+ */
+@Slf4j
+class HashIndex
+{
+	private static final Gson GSON = new Gson();
+	private static final Type ENTRIES_TYPE = new TypeToken<Map<String, Entry>>()
+	{
+	}.getType();
+
+	private final File file;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// files whose hash was produced by this launcher run, either by reading them or as they were written
+	private final Set<String> verified = ConcurrentHashMap.newKeySet();
+	private boolean loaded;
+	private volatile boolean paranoid;
+
+	HashIndex(File file)
+	{
+		this.file = file;
+	}
+
+	/**
+	 * Ignore the hashes saved by previous runs and hash files in full. The index is still updated.
+	 */
+	void setParanoid(boolean paranoid)
+	{
+		this.paranoid = paranoid;
+	}
+
+	String hash(File f) throws IOException
+	{
+		load();
+
+		BasicFileAttributes attrs = readAttributes(f);
+
+		Entry entry = entries.get(f.getName());
+		if (entry != null && entry.matches(attrs) && (!paranoid || verified.contains(f.getName())))
+		{
+			return entry.hash;
+		}
+
+		String hash = FileHasher.hash(f);
+		entries.put(f.getName(), new Entry(attrs, hash));
+		verified.add(f.getName());
+		return hash;
+	}
+
+	/**
+	 * Hash several files in parallel, see {@link #hash(File)}. Files which don't exist are left out.
+	 */
+	Map<File, String> hashAll(Collection<File> files, IntConsumer progress) throws IOException
+	{
+		load();
+		return FileHasher.hashAll(files, this::hash, progress);
+	}
+
+	/**
+	 * Record the hash of a file which was computed while it was being written, so it doesn't have to be
+	 * read back to be verified.
+	 */
+	void record(File f, String hash) throws IOException
+	{
+		load();
+
+		entries.put(f.getName(), new Entry(readAttributes(f), hash));
+		verified.add(f.getName());
+	}
+
+	private static BasicFileAttributes readAttributes(File f) throws IOException
+	{
+		try
+		{
+			return Files.readAttributes(f.toPath(), BasicFileAttributes.class);
+		}
+		catch (NoSuchFileException ex)
+		{
+			throw new FileNotFoundException(f.toString());
+		}
+	}
+
+	private synchronized void load()
+	{
+		if (loaded)
+		{
+			return;
+		}
+
+		loaded = true;
+
+		try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))
+		{
+			Map<String, Entry> saved = GSON.fromJson(reader, ENTRIES_TYPE);
+			if (saved != null)
+			{
+				entries.putAll(saved);
+			}
+		}
+		catch (FileNotFoundException ex)
+		{
+			log.debug("No hash index");
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.warn("unable to read hash index", ex);
+		}
+	}
+
+	synchronized void save()
+	{
+		// forget files which no longer exist
+		entries.keySet().removeIf(name -> !new File(file.getParentFile(), name).exists());
+
+		try
+		{
+			// a truncated index would have every file rehashed on the next start
+			AtomicFiles.write(file, false, out ->
+			{
+				Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+				GSON.toJson(entries, ENTRIES_TYPE, writer);
+				writer.flush();
+			});
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to save hash index", ex);
+		}
+	}
+
+	private static class Entry
+	{
+		private long size;
+		private long modified;
+		private String fileKey;
+		private String hash;
+
+		Entry(BasicFileAttributes attrs, String hash)
+		{
+			this.size = attrs.size();
+			this.modified = attrs.lastModifiedTime().toMillis();
+			this.fileKey = fileKey(attrs);
+			this.hash = hash;
+		}
+
+		boolean matches(BasicFileAttributes attrs)
+		{
+			return size == attrs.size()
+				&& modified == attrs.lastModifiedTime().toMillis()
+				&& Objects.equals(fileKey, fileKey(attrs));
+		}
+
+		private static String fileKey(BasicFileAttributes attrs)
+		{
+			// (dev, inode) on unix, unavailable on windows
+			Object key = attrs.fileKey();
+			return key != null ? key.toString() : null;
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import static net.runelite.launcher.Launcher.USER_AGENT;
+
+/**
+ * The http client shared by everything in the launcher, so connections and TLS sessions to the
+ * bootstrap and artifact hosts are reused.
+ */
+@Slf4j
+class HttpTransport
+{
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	// time until the response headers arrive, not for the whole body
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	// time a streamed body may go without sending anything before the download is failed and retried
+	private static final Duration READ_TIMEOUT = Duration.ofSeconds(30);
+
+	private static SSLContext sslContext;
+	private static HttpClient client;
+
+	/**
+	 * Use a custom ssl context for all further requests
+	 */
+	static synchronized void setSslContext(SSLContext sslContext)
+	{
+		HttpTransport.sslContext = sslContext;
+		// requests already in flight finish on the old client
+		client = null;
+	}
+
+	static synchronized HttpClient getClient()
+	{
+		if (client == null)
+		{
+			HttpClient.Builder builder = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(CONNECT_TIMEOUT)
+				.proxy(ProxySelector.getDefault());
+
+			builder.sslContext(sslContext != null ? sslContext : newSslContext());
+			client = builder.build();
+		}
+
+		return client;
+	}
+
+	/**
+	 * The jvm's default ssl context is created once, by whatever first needs it, and keeps the trust store
+	 * which was configured at that point. Build a new one instead so the client always uses the trust store
+	 * the launcher has configured by the time of its first request.
+	 */
+	private static SSLContext newSslContext()
+	{
+		try
+		{
+			SSLContext context = SSLContext.getInstance("TLS");
+			context.init(null, trustManagers(), null);
+			return context;
+		}
+		catch (GeneralSecurityException ex)
+		{
+			throw new IllegalStateException("unable to initialize ssl context", ex);
+		}
+	}
+
+	/**
+	 * The trust managers for the trust store currently set by the javax.net.ssl system properties
+	 */
+	static TrustManager[] trustManagers() throws GeneralSecurityException
+	{
+		TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		factory.init((KeyStore) null);
+		return factory.getTrustManagers();
+	}
+
+	static HttpRequest.Builder request(String url)
+	{
+		return HttpRequest.newBuilder(URI.create(url))
+			.header("User-Agent", USER_AGENT)
+			.timeout(REQUEST_TIMEOUT);
+	}
+
+	/**
+	 * Resolve and connect to the host of the given url in the background, so that the dns lookup and
+	 * TLS handshake are out of the way by the time it is actually needed.
+	 */
+	static void preconnect(String url)
+	{
+		HttpRequest request = request(url)
+			.method("HEAD", HttpRequest.BodyPublishers.noBody())
+			.build();
+
+		getClient().sendAsync(request, HttpResponse.BodyHandlers.discarding())
+			.whenComplete((response, ex) ->
+			{
+				if (ex != null)
+				{
+					log.debug("unable to preconnect to {}", request.uri().getHost(), ex);
+				}
+				else
+				{
+					log.debug("Preconnected to {} ({})", request.uri().getHost(), response.version());
+				}
+			});
+	}
+
+	/**
+	 * Open a stream to the given url, optionally requesting only the bytes starting from {@code offset}.
+	 * Callers requesting a range must check for a 206 status to know if the range was honored.
+	 */
+	static HttpResponse<InputStream> get(String url, long offset) throws IOException
+	{
+		return get(url, offset, READ_TIMEOUT);
+	}
+
+	/**
+	 * @param readTimeout how long a read of the body may wait for data before failing with a
+	 *                    {@link java.net.SocketTimeoutException}
+	 */
+	static HttpResponse<InputStream> get(String url, long offset, Duration readTimeout) throws IOException
+	{
+		HttpRequest.Builder builder = request(url).GET();
+		if (offset > 0)
+		{
+			builder.header("Range", "bytes=" + offset + "-");
+		}
+
+		HttpResponse<InputStream> response = send(builder.build(), ofInputStream(readTimeout));
+		int status = response.statusCode();
+		if (status != 200 && status != 206)
+		{
+			response.body().close();
+			throw new IOException("Unable to download " + url + " - " + status);
+		}
+
+		return response;
+	}
+
+	/**
+	 * A streamed body whose reads fail once they have waited for data for longer than the read timeout
+	 */
+	static HttpResponse.BodyHandler<InputStream> ofInputStream()
+	{
+		return ofInputStream(READ_TIMEOUT);
+	}
+
+	private static HttpResponse.BodyHandler<InputStream> ofInputStream(Duration readTimeout)
+	{
+		return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+			in -> new IdleTimeoutInputStream(in, readTimeout));
+	}
+
+	static CompletableFuture<byte[]> getBytesAsync(String url)
+	{
+		return getClient().sendAsync(request(url).GET().build(), HttpResponse.BodyHandlers.ofByteArray())
+			.thenApply(response ->
+			{
+				if (response.statusCode() != 200)
+				{
+					throw new CompletionException(new IOException("Unable to download " + url + " - " + response.statusCode()));
+				}
+
+				return response.body();
+			});
+	}
+
+	static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException
+	{
+		try
+		{
+			return getClient().send(request, bodyHandler);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted requesting " + request.uri());
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fails a read which has been waiting for data for longer than the timeout. HttpClient's request timeout
+ * only covers the wait for the response headers, so without this a connection which stalls part way
+ * through the body blocks the read forever.
+ */
+@Slf4j
+class IdleTimeoutInputStream extends FilterInputStream
+{
+	private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+		.setNameFormat("read-watchdog")
+		.setDaemon(true)
+		.build());
+
+	private final Duration timeout;
+	private final ScheduledFuture<?> watch;
+	private volatile boolean reading;
+	private volatile long readStart;
+	private volatile boolean timedOut;
+
+	IdleTimeoutInputStream(InputStream in, Duration timeout)
+	{
+		super(in);
+		this.timeout = timeout;
+		long period = Math.max(1, timeout.toMillis() / 4);
+		this.watch = WATCHDOG.scheduleAtFixedRate(this::check, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	private void check()
+	{
+		if (timedOut || !reading || System.nanoTime() - readStart < timeout.toNanos())
+		{
+			return;
+		}
+
+		// closing the stream is the only way to wake up the blocked read
+		timedOut = true;
+		watch.cancel(false);
+		try
+		{
+			in.close();
+		}
+		catch (IOException ex)
+		{
+			log.debug("error closing stalled stream", ex);
+		}
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		start();
+		try
+		{
+			return end(super.read());
+		}
+		catch (IOException ex)
+		{
+			throw timedOut ? timeoutException() : ex;
+		}
+		finally
+		{
+			reading = false;
+		}
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException
+	{
+		start();
+		try
+		{
+			return end(super.read(b, off, len));
+		}
+		catch (IOException ex)
+		{
+			throw timedOut ? timeoutException() : ex;
+		}
+		finally
+		{
+			reading = false;
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		watch.cancel(false);
+		super.close();
+	}
+
+	private void start() throws IOException
+	{
+		if (timedOut)
+		{
+			throw timeoutException();
+		}
+
+		readStart = System.nanoTime();
+		reading = true;
+	}
+
+	private int end(int read) throws IOException
+	{
+		// the stream may look like it ended when it was closed under the read
+		if (timedOut)
+		{
+			throw timeoutException();
+		}
+		return read;
+	}
+
+	private SocketTimeoutException timeoutException()
+	{
+		return new SocketTimeoutException("no data received for " + timeout.getSeconds() + "s");
+	}
+}
@@ -24,12 +24,12 @@
  */
 package net.runelite.launcher;
 
-import com.google.common.io.ByteStreams;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -37,15 +37,14 @@ import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.URL;
-import java.net.URLConnection;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
@@ -67,6 +66,10 @@ class InfoPanel extends JPanel
 	private static final String DISCORD_INVITE_LINK = "https://discordapp.com/invite/openosrs";
 	private static final String LAUNCHER_DOWNLOAD_LINK = "https://github.com/open-osrs/launcher/releases";
 
+	private static CompletableFuture<String> latestLauncher;
+
+	private final JPanel updatePanel = new JPanel(new GridLayout(0, 1));
+
 	InfoPanel(String mode)
 	{
 		this.setLayout(new GridBagLayout());
@@ -95,17 +98,12 @@ class InfoPanel extends JPanel
 		c.anchor = GridBagConstraints.SOUTH;
 		c.weighty = 0;
 
-		String latestLauncher = getLatestLauncher();
+		// Latest version, filled in once the lookup completes so the splash screen doesn't wait on it
+		updatePanel.setOpaque(false);
+		this.add(updatePanel, c);
+		c.gridy++;
 
-		// Latest version
-		if (!latestLauncher.equals("-1") && !latestLauncher.equals(LauncherProperties.getVersion()))
-		{
-			this.add(createPanelTextButton("Update available!", () -> LinkBrowser.browse(LAUNCHER_DOWNLOAD_LINK)), c);
-			c.gridy++;
-
-			this.add(createPanelTextButton("Latest Version: " + latestLauncher), c);
-			c.gridy++;
-		}
+		getLatestLauncher().thenAccept(latest -> SwingUtilities.invokeLater(() -> showLatestLauncher(latest)));
 
 		// Version
 		this.add(createPanelTextButton("Launcher Version: " + LauncherProperties.getVersion()), c);
@@ -135,30 +133,59 @@ class InfoPanel extends JPanel
 		c.gridy++;
 	}
 
-	private static String getLatestLauncher()
+	private void showLatestLauncher(String latestLauncher)
 	{
-		try
+		if (latestLauncher.equals("-1") || latestLauncher.equals(LauncherProperties.getVersion()))
 		{
-			URL u = new URL(LAUNCHER_BUILD);
+			return;
+		}
 
-			URLConnection conn = u.openConnection();
+		updatePanel.add(createPanelTextButton("Update available!", () -> LinkBrowser.browse(LAUNCHER_DOWNLOAD_LINK)));
+		updatePanel.add(createPanelTextButton("Latest Version: " + latestLauncher));
 
-			conn.setRequestProperty("User-Agent", USER_AGENT);
+		this.revalidate();
+		this.repaint();
+	}
 
-			try (InputStream i = conn.getInputStream())
-			{
-				byte[] bytes = ByteStreams.toByteArray(i);
-				Pattern pattern = Pattern.compile("version = '(\\d{1}).(\\d{1}).(\\d{1})'");
+	/**
+	 * Use the given version instead of looking up the latest launcher
+	 */
+	static synchronized void setLatestLauncher(String version)
+	{
+		latestLauncher = CompletableFuture.completedFuture(version);
+	}
 
-				BufferedReader buf = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)));
-				String str;
-				while ((str = buf.readLine()) != null)
+	private static synchronized CompletableFuture<String> getLatestLauncher()
+	{
+		// shared between splash screens, so the lookup is only done once
+		if (latestLauncher == null)
+		{
+			latestLauncher = HttpTransport.getBytesAsync(LAUNCHER_BUILD)
+				.thenApply(InfoPanel::parseLatestLauncher)
+				.exceptionally(ex ->
+				{
+					log.debug("unable to check for the latest launcher version", ex);
+					return "-1";
+				});
+		}
+
+		return latestLauncher;
+	}
+
+	private static String parseLatestLauncher(byte[] bytes)
+	{
+		try
+		{
+			Pattern pattern = Pattern.compile("version = '(\\d{1}).(\\d{1}).(\\d{1})'");
+
+			BufferedReader buf = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)));
+			String str;
+			while ((str = buf.readLine()) != null)
+			{
+				Matcher m = pattern.matcher(str);
+				if (m.find())
 				{
-					Matcher m = pattern.matcher(str);
-					if (m.find())
-					{
-						return String.format("%s.%s.%s", m.group(1), m.group(2), m.group(3));
-					}
+					return String.format("%s.%s.%s", m.group(1), m.group(2), m.group(3));
 				}
 			}
 		}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sizes the client's heap and picks its garbage collector from the memory and cores of the machine,
+ * including any cgroup limits, and merges the result with the jvm arguments from the bootstrap.
+ * <p>
+ * Override rules:
+ * <ul>
+ * <li>With {@link JvmProfile#AUTO} the bootstrap arguments win, and only a maximum heap sized for the
+ * machine is added if the bootstrap doesn't set one. The collector and initial heap are only changed by an
+ * explicitly chosen profile.</li>
+ * <li>With an explicitly chosen profile, the profile's heap sizes and collector replace the bootstrap's.</li>
+ * <li>In both cases a maximum heap larger than the machine can give is lowered to the profile's, and an
+ * initial heap larger than the maximum is dropped.</li>
+ * </ul>
+ */
+@Slf4j
+class JvmErgonomics
+{
+	private static final long MB = 1024 * 1024;
+	private static final long GB = 1024 * MB;
+	// share of the memory limit the heap may take, leaving room for the jvm itself, native memory and the os
+	private static final double MAX_HEAP_SHARE = .75;
+	private static final Pattern SIZE = Pattern.compile("(\\d+)([kKmMgGtT]?)");
+	private static final String GC = "gc";
+
+	@Value
+	static class Machine
+	{
+		// physical memory, or the cgroup limit if lower
+		long memory;
+		// memory which can be had without swapping, including the page cache
+		long freeMemory;
+		int cores;
+		int javaVersion;
+
+		Machine share(int instances)
+		{
+			if (instances <= 1)
+			{
+				return this;
+			}
+
+			return new Machine(memory / instances, freeMemory == Long.MAX_VALUE ? freeMemory : freeMemory / instances,
+				Math.max(1, cores / instances), javaVersion);
+		}
+	}
+
+	/**
+	 * @param instances the number of clients sharing the machine, each is tuned for its share of it
+	 */
+	static List<String> apply(List<String> bootstrapArgs, JvmProfile profile, int instances)
+	{
+		Machine machine = inspect().share(instances);
+		JvmProfile chosen = profile == JvmProfile.AUTO ? choose(machine) : profile;
+		List<String> args = merge(bootstrapArgs, tune(profile, machine), profile != JvmProfile.AUTO, machine);
+		log.info("Client jvm tuned for {} memory ({} free) and {} cores with the {} profile{}: {}",
+			formatSize(machine.getMemory()), formatSize(machine.getFreeMemory()), machine.getCores(),
+			chosen, profile == JvmProfile.AUTO ? " (auto)" : "", args);
+		return args;
+	}
+
+	static Machine inspect()
+	{
+		long memory = Long.MAX_VALUE;
+		long free = Long.MAX_VALUE;
+		OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		if (os instanceof com.sun.management.OperatingSystemMXBean)
+		{
+			memory = ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+			free = ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize();
+		}
+
+		// On Linux the free memory above is MemFree, which leaves out the page cache and so is usually tiny
+		long available = memAvailable();
+		if (available > 0)
+		{
+			free = available;
+		}
+
+		long limit = cgroupMemoryLimit();
+		if (limit > 0 && limit < memory)
+		{
+			log.debug("Memory is limited to {} by cgroup", formatSize(limit));
+			memory = limit;
+			free = Math.min(free, limit);
+		}
+
+		// already takes cgroup cpu limits into account
+		int cores = Runtime.getRuntime().availableProcessors();
+		return new Machine(memory, free, cores, Runtime.version().feature());
+	}
+
+	static JvmProfile choose(Machine machine)
+	{
+		if (machine.getMemory() < 4 * GB || machine.getFreeMemory() < GB || machine.getCores() <= 2)
+		{
+			return JvmProfile.LOW_MEMORY;
+		}
+
+		return JvmProfile.LOW_LATENCY;
+	}
+
+	/**
+	 * The arguments for a profile, grouped by what they set so they can be matched up with the bootstrap's
+	 */
+	static Map<String, List<String>> tune(JvmProfile profile, Machine machine)
+	{
+		if (profile == JvmProfile.AUTO)
+		{
+			// Changing the collector or initial heap of everyone who didn't ask for it is too much, so only
+			// the maximum heap is sized for the machine
+			Map<String, List<String>> args = tune(choose(machine), machine);
+			args.keySet().retainAll(List.of("-Xmx"));
+			return args;
+		}
+
+		Map<String, List<String>> args = new LinkedHashMap<>();
+		long heap;
+		switch (profile)
+		{
+			case LOW_MEMORY:
+				heap = heapSize(machine, .25, 256 * MB, 768 * MB);
+				args.put("-Xms", List.of("-Xms" + Math.min(heap, 128 * MB) / MB + "m"));
+				args.put(GC, List.of("-XX:+UseSerialGC"));
+				break;
+			case THROUGHPUT:
+				heap = heapSize(machine, .5, GB, 4 * GB);
+				args.put("-Xms", List.of("-Xms" + heap / 2 / MB + "m"));
+				args.put(GC, List.of("-XX:+UseG1GC", "-XX:+ParallelRefProcEnabled"));
+				break;
+			case LOW_LATENCY:
+			default:
+				heap = heapSize(machine, .25, 512 * MB, 2 * GB);
+				args.put("-Xms", List.of("-Xms" + heap / 2 / MB + "m"));
+				// ZGC is production ready from 15, and wants a few cores for its concurrent threads
+				if (machine.getJavaVersion() >= 15 && machine.getCores() >= 4)
+				{
+					args.put(GC, List.of("-XX:+UseZGC"));
+				}
+				else
+				{
+					args.put(GC, List.of("-XX:+UseG1GC", "-XX:MaxGCPauseMillis=50"));
+				}
+				break;
+		}
+
+		args.put("-Xmx", List.of("-Xmx" + heap / MB + "m"));
+		return args;
+	}
+
+	static List<String> merge(List<String> bootstrapArgs, Map<String, List<String>> tuned, boolean override, Machine machine)
+	{
+		List<String> args = new ArrayList<>();
+		for (String arg : bootstrapArgs)
+		{
+			String key = key(arg);
+			if (override && tuned.containsKey(key))
+			{
+				continue;
+			}
+
+			if (key.equals("-Xmx") && parseSize(arg.substring(4)) > machine.getMemory() * MAX_HEAP_SHARE)
+			{
+				log.info("Bootstrap maximum heap {} is more than this machine can give", arg);
+				continue;
+			}
+
+			args.add(arg);
+		}
+
+		for (Map.Entry<String, List<String>> entry : tuned.entrySet())
+		{
+			if (args.stream().noneMatch(arg -> key(arg).equals(entry.getKey())))
+			{
+				args.addAll(entry.getValue());
+			}
+		}
+
+		long xmx = size(args, "-Xmx");
+		long xms = size(args, "-Xms");
+		if (xmx > 0 && xms > xmx)
+		{
+			args.removeIf(arg -> key(arg).equals("-Xms"));
+		}
+
+		return args;
+	}
+
+	private static long heapSize(Machine machine, double share, long min, long max)
+	{
+		long heap = (long) (machine.getMemory() * share);
+		return Math.max(min, Math.min(max, heap)) / MB * MB;
+	}
+
+	/**
+	 * What a jvm argument sets: the collector, a heap size, or the name of the option
+	 */
+	static String key(String arg)
+	{
+		if (arg.startsWith("-Xmx") || arg.startsWith("-Xms"))
+		{
+			return arg.substring(0, 4);
+		}
+
+		if (arg.startsWith("-XX:"))
+		{
+			String option = arg.substring(4);
+			if (option.startsWith("+") || option.startsWith("-"))
+			{
+				option = option.substring(1);
+			}
+
+			int eq = option.indexOf('=');
+			if (eq != -1)
+			{
+				option = option.substring(0, eq);
+			}
+
+			if (option.startsWith("Use") && option.endsWith("GC"))
+			{
+				return GC;
+			}
+
+			return "-XX:" + option;
+		}
+
+		return arg;
+	}
+
+	private static long size(List<String> args, String key)
+	{
+		long size = -1;
+		for (String arg : args)
+		{
+			if (key(arg).equals(key))
+			{
+				// the last one wins
+				size = parseSize(arg.substring(key.length()));
+			}
+		}
+		return size;
+	}
+
+	static long parseSize(String size)
+	{
+		Matcher matcher = SIZE.matcher(size);
+		if (!matcher.matches())
+		{
+			return -1;
+		}
+
+		long value = Long.parseLong(matcher.group(1));
+		// no unit is bytes, then each unit is 1024 times the one before
+		String unit = matcher.group(2).toLowerCase();
+		int exponent = unit.isEmpty() ? 0 : "kmgt".indexOf(unit) + 1;
+		for (int i = 0; i < exponent; ++i)
+		{
+			value *= 1024;
+		}
+		return value;
+	}
+
+	private static long memAvailable()
+	{
+		if (OS.getOs() != OS.OSType.Linux)
+		{
+			return -1;
+		}
+
+		try
+		{
+			for (String line : Files.readAllLines(Paths.get("/proc/meminfo")))
+			{
+				// MemAvailable:   12345678 kB
+				if (line.startsWith("MemAvailable:"))
+				{
+					return Long.parseLong(line.substring("MemAvailable:".length()).replace("kB", "").trim()) * 1024;
+				}
+			}
+		}
+		catch (IOException | NumberFormatException ex)
+		{
+			log.trace("unable to read available memory", ex);
+		}
+
+		return -1;
+	}
+
+	private static long cgroupMemoryLimit()
+	{
+		if (OS.getOs() != OS.OSType.Linux)
+		{
+			return -1;
+		}
+
+		// cgroup v2, then v1. Unlimited is "max" on v2 and a huge number on v1.
+		for (Path path : List.of(Paths.get("/sys/fs/cgroup/memory.max"), Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes")))
+		{
+			try
+			{
+				String limit = Files.readAllLines(path).get(0).trim();
+				return limit.equals("max") ? -1 : Long.parseLong(limit);
+			}
+			catch (IOException | NumberFormatException | IndexOutOfBoundsException ex)
+			{
+				log.trace("no cgroup memory limit in {}", path, ex);
+			}
+		}
+
+		return -1;
+	}
+
+	private static String formatSize(long size)
+	{
+		return size == Long.MAX_VALUE ? "unknown" : String.format("%.1fGB", (double) size / GB);
+	}
+}
@@ -24,11 +24,10 @@
  */
 package net.runelite.launcher;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -41,7 +40,9 @@ import net.runelite.launcher.beans.Bootstrap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static net.runelite.launcher.Launcher.CDS_DIR;
 import static net.runelite.launcher.Launcher.CLIENT_MAIN_CLASS;
+import static net.runelite.launcher.Launcher.LOGS_DIR;
 
 @Slf4j
 class JvmLauncher
@@ -72,12 +73,25 @@ class JvmLauncher
 		return javaPath.toAbsolutePath().toString();
 	}
 
-	static void launch(
-		Bootstrap bootstrap,
+	/**
+	 * Launch a client in a new jvm
+	 *
+	 * @return the client process, or null if there is no java executable to launch it with
+	 * @param bootstrapJvmArgs the bootstrap's jvm arguments for this jvm, see {@link #getJvmArguments(Bootstrap)}
+	 * @param instance  which of the clients launched together this is, starting at 1
+	 * @param instances how many clients are being launched together, which share the machine's memory
+	 * @param supervised whether the launcher keeps running for as long as the client anyway
+	 */
+	static Process launch(
+		List<String> bootstrapJvmArgs,
 		List<File> results,
 		Collection<String> clientArgs,
 		List<String> jvmProps,
-		List<String> jvmArgs) throws IOException
+		List<String> jvmArgs,
+		JvmProfile profile,
+		int instance,
+		int instances,
+		boolean supervised) throws IOException
 	{
 		StringBuilder classPath = new StringBuilder();
 		for (File f : results)
@@ -98,7 +112,7 @@ class JvmLauncher
 		catch (FileNotFoundException ex)
 		{
 			logger.error("Unable to find java executable", ex);
-			return;
+			return null;
 		}
 
 		List<String> arguments = new ArrayList<>();
@@ -106,11 +120,9 @@ class JvmLauncher
 		arguments.add("-cp");
 		arguments.add(classPath.toString());
 
-		String[] jvmArguments = getJvmArguments(bootstrap);
-		if (jvmArguments != null)
-		{
-			arguments.addAll(Arrays.asList(jvmArguments));
-		}
+		arguments.addAll(JvmErgonomics.apply(bootstrapJvmArgs, profile, instances));
+		// all instances share the archive, but only the first may create it
+		arguments.addAll(ClientClassDataSharing.getJvmArguments(CDS_DIR, results, instance == 1));
 		arguments.addAll(jvmProps);
 		arguments.addAll(jvmArgs);
 
@@ -119,23 +131,54 @@ class JvmLauncher
 
 		logger.info("Running {}", arguments);
 
+		LOGS_DIR.mkdirs();
+		String logName = instances > 1 ? "client-" + instance : "client";
+		logger.info("Client output is logged to {}", new File(LOGS_DIR, logName + ".log"));
+
+		// The client's output always has to be read, or it blocks once the pipe fills up. Copying it through the
+		// launcher lets the log be rotated while the client runs, but keeps the launcher's jvm around for the
+		// whole session, so that is only done when it is staying around anyway. Otherwise the client appends
+		// straight to the file, which is only rotated when the next client is launched.
+		final boolean pumped = supervised || log.isDebugEnabled();
+
 		ProcessBuilder builder = new ProcessBuilder(arguments.toArray(new String[0]));
 		builder.redirectErrorStream(true);
+		if (!pumped)
+		{
+			builder.redirectOutput(ProcessBuilder.Redirect.appendTo(ClientLog.rotate(LOGS_DIR, logName)));
+		}
 		Process process = builder.start();
 
 		OpenOSRSSplashScreen.close();
 
-		if (log.isDebugEnabled())
+		if (pumped)
 		{
-			BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-			for (String line; (line = reader.readLine()) != null; )
+			// Not a daemon, so the launcher keeps logging the output until the client exits
+			final PrintStream echo = log.isDebugEnabled() ? System.out : null;
+			Thread pump = new Thread(() ->
 			{
-				System.out.println(line);
-			}
+				try
+				{
+					ClientLog.pump(process.getInputStream(), LOGS_DIR, logName, echo);
+				}
+				catch (IOException ex)
+				{
+					logger.debug("error reading client output", ex);
+				}
+			}, "client-output-" + instance);
+			pump.start();
 		}
+
+		return process;
+	}
+
+	static List<String> getJvmArguments(Bootstrap bootstrap)
+	{
+		String[] args = getBootstrapJvmArguments(bootstrap);
+		return args != null ? Arrays.asList(args) : List.of();
 	}
 
-	private static String[] getJvmArguments(Bootstrap bootstrap)
+	private static String[] getBootstrapJvmArguments(Bootstrap bootstrap)
 	{
 		if (Launcher.isJava17())
 		{
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the launch as a graph of stages, each starting as soon as the stages it depends on are done, so
+ * independent work overlaps. The overall progress is the weighted completion of all stages.
+ */
+@Slf4j
+class LaunchGraph
+{
+	interface Work<T>
+	{
+		T run(Progress progress) throws Exception;
+	}
+
+	private final List<Stage<?>> stages = new ArrayList<>();
+	private final Progress listener;
+	private double totalWeight;
+	private volatile Supplier<String> message;
+
+	/**
+	 * @param listener receives the overall progress of the launch
+	 */
+	LaunchGraph(Progress listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Add a stage. Dependencies must already have been added, so the stages are always in a valid
+	 * order and can't form a cycle.
+	 *
+	 * @param name     shown on the progress bar while the stage runs
+	 * @param weight   share of the progress bar
+	 * @param work     the stage, which may read the result of its dependencies
+	 * @param requires stages which must complete first
+	 */
+	<T> Stage<T> stage(String name, double weight, Work<T> work, Stage<?>... requires)
+	{
+		for (Stage<?> stage : requires)
+		{
+			if (!stages.contains(stage))
+			{
+				throw new IllegalArgumentException("unknown dependency " + stage.name + " of " + name);
+			}
+		}
+
+		Stage<T> stage = new Stage<>(name, weight, work, requires);
+		stages.add(stage);
+		totalWeight += weight;
+		return stage;
+	}
+
+	/**
+	 * Run all stages and wait for them to finish. The first failure is rethrown once the stages which
+	 * don't depend on it have finished.
+	 */
+	void run(int threads) throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+			.setNameFormat("launch-stage-%d")
+			.setDaemon(true)
+			.build());
+		try
+		{
+			for (Stage<?> stage : stages)
+			{
+				CompletableFuture<?>[] dependencies = Arrays.stream(stage.requires)
+					.map(s -> s.future)
+					.toArray(CompletableFuture<?>[]::new);
+				schedule(stage, CompletableFuture.allOf(dependencies), executor);
+			}
+
+			CompletableFuture.allOf(stages.stream()
+				.map(s -> s.future)
+				.toArray(CompletableFuture<?>[]::new))
+				.join();
+		}
+		catch (CompletionException ex)
+		{
+			Throwables.throwIfInstanceOf(ex.getCause(), Exception.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw ex;
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	private <T> void schedule(Stage<T> stage, CompletableFuture<Void> dependencies, ExecutorService executor)
+	{
+		stage.future = dependencies.thenApplyAsync(v ->
+		{
+			long start = System.nanoTime();
+			progress(stage, () -> stage.name, 0);
+			try
+			{
+				T result = stage.work.run(stage.progress);
+				progress(stage, null, 1);
+				log.debug("Stage {} took {}ms", stage.name, (System.nanoTime() - start) / 1_000_000);
+				return result;
+			}
+			catch (RuntimeException ex)
+			{
+				throw ex;
+			}
+			catch (Exception ex)
+			{
+				throw new CompletionException(ex);
+			}
+		}, executor);
+	}
+
+	// Called for every chunk downloaded, so it takes no locks and leaves formatting the text to the listener
+	private void progress(Stage<?> stage, Supplier<String> text, double fraction)
+	{
+		stage.fraction = fraction;
+		if (text != null)
+		{
+			message = text;
+		}
+
+		if (totalWeight > 0)
+		{
+			double done = 0;
+			for (Stage<?> s : stages)
+			{
+				done += s.weight * s.fraction;
+			}
+
+			listener.update(message, done / totalWeight);
+		}
+	}
+
+	class Stage<T>
+	{
+		private final String name;
+		private final double weight;
+		private final Work<T> work;
+		private final Stage<?>[] requires;
+		private final Progress progress = (text, fraction) -> progress(this, text, fraction);
+		private volatile double fraction;
+		private CompletableFuture<T> future;
+
+		private Stage(String name, double weight, Work<T> work, Stage<?>[] requires)
+		{
+			this.name = name;
+			this.weight = weight;
+			this.work = work;
+			this.requires = requires;
+		}
+
+		/**
+		 * The result of this stage, for use by the stages which depend on it
+		 */
+		T get()
+		{
+			return future.join();
+		}
+	}
+
+	/**
+	 * Progress within a single stage
+	 */
+	interface Progress
+	{
+		/**
+		 * @param text     formatted only if it is shown, which can be far less often than it is updated. Null
+		 *                 keeps the current text.
+		 * @param fraction how much is done, from 0 to 1
+		 */
+		void update(Supplier<String> text, double fraction);
+
+		default void update(String text, double fraction)
+		{
+			update(text != null ? () -> text : null, fraction);
+		}
+
+		default void update(String text, int done, int total)
+		{
+			update(() -> text + " " + done + " / " + total, total > 0 ? (double) done / total : 0);
+		}
+
+		default void updateBytes(String text, int done, int total)
+		{
+			final double Mb = 1000 * 1000;
+			update(() -> String.format("%s %.1f / %.1f MB", text, done / Mb, total / Mb), total > 0 ? (double) done / total : 0);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers what was launched for the last verified bootstrap of each channel: the classpath and the
+ * bootstrap's jvm arguments for this jvm. When the bootstrap, launcher and jvm are the same and none of
+ * the jars have changed since, the client can be started without parsing the bootstrap or checking
+ * the repository again.
+ */
+@Slf4j
+class LaunchPlanCache
+{
+	private static final Gson GSON = new Gson();
+
+	private final File dir;
+
+	LaunchPlanCache(File dir)
+	{
+		this.dir = dir;
+	}
+
+	@Value
+	static class Plan
+	{
+		List<File> classpath;
+		List<String> jvmArguments;
+	}
+
+	/**
+	 * The key of the plan for a bootstrap, which changes with anything else the plan was worked out from
+	 */
+	static String key(String bootstrapHash)
+	{
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (String part : Arrays.asList(bootstrapHash, LauncherProperties.getVersion(),
+			System.getProperty("java.home"), System.getProperty("java.vm.version"), System.getProperty("os.arch")))
+		{
+			hasher.putString(String.valueOf(part), StandardCharsets.UTF_8);
+			hasher.putByte((byte) 0);
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @return the plan saved for the key, or null if there isn't one or a jar in it has changed since
+	 */
+	Plan get(String channel, String key)
+	{
+		Saved saved = read(channel);
+		if (saved == null || !key.equals(saved.key) || saved.classpath == null || saved.jvmArguments == null)
+		{
+			return null;
+		}
+
+		List<File> classpath = new ArrayList<>(saved.classpath.size());
+		for (Jar jar : saved.classpath)
+		{
+			File file = new File(jar.path);
+			// the jars were verified with this size and modification time
+			if (file.length() != jar.size || file.lastModified() != jar.modified)
+			{
+				log.debug("{} has changed since the launch plan was made", file);
+				return null;
+			}
+			classpath.add(file);
+		}
+
+		return new Plan(classpath, saved.jvmArguments);
+	}
+
+	/**
+	 * Save the plan for the key. Should only be called once the classpath has been verified.
+	 */
+	void save(String channel, String key, Plan plan)
+	{
+		Saved saved = new Saved();
+		saved.key = key;
+		saved.classpath = plan.getClasspath().stream()
+			.map(Jar::new)
+			.collect(Collectors.toList());
+		saved.jvmArguments = plan.getJvmArguments();
+
+		dir.mkdirs();
+
+		try
+		{
+			AtomicFiles.write(new File(dir, channel + ".json"), false, out ->
+			{
+				Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+				GSON.toJson(saved, writer);
+				writer.flush();
+			});
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to save launch plan for {}", channel, ex);
+		}
+	}
+
+	private Saved read(String channel)
+	{
+		try (Reader reader = new InputStreamReader(new FileInputStream(new File(dir, channel + ".json")), StandardCharsets.UTF_8))
+		{
+			return GSON.fromJson(reader, Saved.class);
+		}
+		catch (FileNotFoundException ex)
+		{
+			return null;
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.warn("unable to read launch plan for {}", channel, ex);
+			return null;
+		}
+	}
+
+	private static class Saved
+	{
+		private String key;
+		private List<Jar> classpath;
+		private List<String> jvmArguments;
+	}
+
+	private static class Jar
+	{
+		private String path;
+		private long size;
+		private long modified;
+
+		Jar(File file)
+		{
+			this.path = file.getAbsolutePath();
+			this.size = file.length();
+			this.modified = file.lastModified();
+		}
+	}
+}
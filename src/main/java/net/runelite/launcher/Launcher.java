@@ -29,25 +29,21 @@ import ch.qos.logback.classic.Logger;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
-import com.google.common.hash.HashCode;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
-import com.google.common.hash.HashingOutputStream;
-import com.google.common.io.ByteStreams;
-import com.google.common.io.Files;
-import com.google.gson.Gson;
+import com.google.common.base.Throwables;
 
 import java.io.*;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.IntConsumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.net.ssl.HttpsURLConnection;
@@ -64,7 +60,6 @@ import joptsimple.OptionSet;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.launcher.beans.Artifact;
 import net.runelite.launcher.beans.Bootstrap;
-import net.runelite.launcher.beans.Diff;
 import net.runelite.launcher.beans.Platform;
 import org.slf4j.LoggerFactory;
 
@@ -74,18 +69,36 @@ public class Launcher
 	private static final File OPENOSRS_DIR = new File(System.getProperty("user.home"), ".openosrs");
 	public static final File LOGS_DIR = new File(OPENOSRS_DIR, "logs");
 	private static final File REPO_DIR = new File(OPENOSRS_DIR, "repository2");
+	private static final ArtifactStore STORE = new ArtifactStore(REPO_DIR);
+	private static final BootstrapCache BOOTSTRAP_CACHE = new BootstrapCache(new File(OPENOSRS_DIR, "bootstrap"));
+	private static final LaunchPlanCache PLAN_CACHE = new LaunchPlanCache(new File(OPENOSRS_DIR, "launchplan"));
+	static final File CDS_DIR = new File(OPENOSRS_DIR, "cds");
 	public static final File CRASH_FILES = new File(LOGS_DIR, "jvm_crash_pid_%p.log");
 	static final String LAUNCHER_BUILD = "https://raw.githubusercontent.com/open-osrs/launcher/master/build.gradle.kts";
 	private static final String CLIENT_BOOTSTRAP_STAGING_URL = "https://raw.githubusercontent.com/open-osrs/hosting/master/bootstrap-staging.json";
 	private static final String CLIENT_BOOTSTRAP_NIGHTLY_URL = "https://raw.githubusercontent.com/open-osrs/hosting/master/bootstrap-nightly.json";
 	private static final String CLIENT_BOOTSTRAP_STABLE_URL = "https://raw.githubusercontent.com/open-osrs/hosting/master/bootstrap-stable.json";
 	static final String USER_AGENT = "OpenOSRS/" + LauncherProperties.getVersion();
+	// Always use IPv4 over IPv6
+	private static final List<String> IPV4_PROPS = List.of("-Djava.net.preferIPv4Stack=true", "-Djava.net.preferIPv4Addresses=true");
+	// how long after launching --prefetch waits before downloading the next update
+	private static final Duration PREFETCH_DELAY = Duration.ofMinutes(1);
+	// time between starting each of several --instances
+	private static final Duration INSTANCE_STAGGER = Duration.ofSeconds(5);
 	private static boolean nightly = false;
 	private static boolean staging = false;
 	private static boolean stable = false;
 
 	static final String CLIENT_MAIN_CLASS = "net.runelite.client.RuneLite";
 
+	// exit codes of --update-only, --verify-only and --print-classpath
+	static final int EXIT_OK = 0;
+	static final int EXIT_ERROR = 1;
+	static final int EXIT_BOOTSTRAP = 2;
+	static final int EXIT_DOWNLOAD = 3;
+	static final int EXIT_VERIFY = 4;
+	static final int EXIT_OUTDATED = 5;
+
 	public static void main(String[] args)
 	{
 		OptionParser parser = new OptionParser(false);
@@ -97,6 +110,23 @@ public class Launcher
 		parser.accepts("insecure-skip-tls-verification", "Disable TLS certificate and hostname verification");
 		parser.accepts("use-jre-truststore", "Use JRE cacerts truststore instead of the Windows Trusted Root Certificate Authorities (only on Windows)");
 		parser.accepts("scale", "Custom scale factor for Java 2D").withRequiredArg();
+		parser.accepts("download-threads", "Number of artifacts to download concurrently").withRequiredArg().ofType(Integer.class);
+		parser.accepts("paranoid-verify", "Hash every artifact in full instead of trusting the hash index");
+		parser.accepts("jvm-profile", "Tune the client's heap and gc: AUTO, LOW_LATENCY, THROUGHPUT or LOW_MEMORY")
+			.withRequiredArg()
+			.ofType(JvmProfile.class)
+			.defaultsTo(JvmProfile.AUTO);
+		parser.accepts("instances", "Number of clients to launch, after updating once")
+			.withRequiredArg()
+			.ofType(Integer.class)
+			.defaultsTo(1);
+		parser.accepts("instance-clientargs", "Extra arguments for one client, given once per instance in order").withRequiredArg();
+		parser.accepts("update-only", "Update the client without launching it or opening any windows");
+		parser.accepts("verify-only", "Verify the client is up to date without downloading, launching it or opening any windows");
+		parser.accepts("print-classpath", "Print the client classpath after updating, or verifying with --verify-only, instead of launching it");
+		parser.accepts("supervise", "Keep running to restart clients which crash");
+		parser.accepts("prefetch", "Download the next client update in the background while the client runs");
+		parser.accepts("bootstrap-deadline", "Seconds to wait for the bootstrap before launching the last verified client, which is updated on the next start").withRequiredArg().ofType(Integer.class);
 		parser.accepts("nightly");
 		parser.accepts("staging");
 		parser.accepts("stable");
@@ -178,6 +208,13 @@ public class Launcher
 			System.exit(0);
 		}
 
+		if (options.has("insecure-skip-tls-verification"))
+		{
+			// HttpClient has no hostname verifier hook, only this property, which is read once when the
+			// first client is created - which the splash screen may do before the trust manager is set up
+			System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+		}
+
 		if (!askmode)
 		{
 			if (bootstrapMode.equals("STABLE"))
@@ -194,17 +231,33 @@ public class Launcher
 		staging = options.has("staging");
 		stable |= options.has("stable");
 
+		final boolean headless = isHeadless(options);
+		if (headless && !nightly && !staging)
+		{
+			// There is nobody to ask
+			stable = true;
+		}
+
 		// Setup debug
 		final boolean isDebug = options.has("debug");
 		LOGS_DIR.mkdirs();
 
+		final Logger logger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
 		if (isDebug)
 		{
-			final Logger logger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
 			logger.setLevel(Level.DEBUG);
 		}
+		else if (headless)
+		{
+			// Keep stdout for --print-classpath, the log file still has everything
+			logger.detachAppender("STDOUT");
+		}
 
-		if (!nightly && !staging && !stable)
+		if (headless)
+		{
+			System.exit(launch(hardwareAccelerationMode, options, prop));
+		}
+		else if (!nightly && !staging && !stable)
 		{
 			OpenOSRSSplashScreen.init(null);
 			OpenOSRSSplashScreen.barMessage(null);
@@ -238,17 +291,40 @@ public class Launcher
 		}
 	}
 
-	private static void launch(HardwareAccelerationMode mode, OptionSet options, Properties prop)
+	private static boolean isHeadless(OptionSet options)
 	{
-		// RTSS triggers off of the CreateWindow event, so this needs to be in place early, prior to splash screen
-		initDllBlacklist();
+		return options.has("update-only") || options.has("verify-only") || options.has("print-classpath");
+	}
 
-		OpenOSRSSplashScreen.init(nightly ? "Nightly" : stable ? "Stable" : "Staging");
+	/**
+	 * @return the exit code for the headless modes
+	 */
+	private static int launch(HardwareAccelerationMode mode, OptionSet options, Properties prop)
+	{
+		// Without a display nothing may touch the splash screen, or AWT at all
+		final boolean headless = isHeadless(options);
+		final boolean verifyOnly = options.has("verify-only");
 
-		try
+		if (!headless)
 		{
-			OpenOSRSSplashScreen.stage(0, "Setting up environment");
+			// RTSS triggers off of the CreateWindow event, so this needs to be in place early, prior to splash screen
+			initDllBlacklist();
+		}
+
+		// The IPv4 preference is only read when networking starts up and the trust store when the http client
+		// is built, so both must be set before the first request
+		final List<String> networkProps = getNetworkProps(options);
+		setJvmParams(networkProps);
 
+		if (!options.has("insecure-skip-tls-verification"))
+		{
+			// Get the dns lookup and TLS handshake with the bootstrap host going while the splash screen is
+			// being built
+			HttpTransport.preconnect(getBootstrapUrl());
+		}
+
+		try
+		{
 			log.info("OpenOSRS Launcher version {}", LauncherProperties.getVersion());
 
 			final List<String> jvmProps = new ArrayList<>();
@@ -267,9 +343,7 @@ public class Launcher
 			log.info("Setting hardware acceleration to {}", mode);
 			jvmProps.addAll(mode.toParams(OS.getOs()));
 
-			// Always use IPv4 over IPv6
-			jvmProps.add("-Djava.net.preferIPv4Stack=true");
-			jvmProps.add("-Djava.net.preferIPv4Addresses=true");
+			jvmProps.addAll(networkProps);
 
 			// As of JDK-8243269 (11.0.8) and JDK-8235363 (14), AWT makes macOS dark mode support opt-in so interfaces
 			// with hardcoded foreground/background colours don't get broken by system settings. Considering the native
@@ -289,14 +363,6 @@ public class Launcher
 				jvmProps.add("-Drunelite.insecure-skip-tls-verification=true");
 			}
 
-			if (OS.getOs() == OS.OSType.Windows && !options.has("use-jre-truststore"))
-			{
-				// Use the Windows Trusted Root Certificate Authorities instead of the bundled cacerts.
-				// Corporations, schools, antivirus, and malware commonly install root certificates onto
-				// machines for security or other reasons that are not present in the JRE certificate store.
-				jvmProps.add("-Djavax.net.ssl.trustStoreType=Windows-ROOT");
-			}
-
 			// java2d properties have to be set prior to the graphics environment startup
 			setJvmParams(jvmProps);
 
@@ -315,7 +381,7 @@ public class Launcher
 			if (postInstall)
 			{
 				postInstall(jvmParams);
-				return;
+				return EXIT_OK;
 			}
 
 			// Print out system info
@@ -333,167 +399,279 @@ public class Launcher
 				}
 			}
 
-			OpenOSRSSplashScreen.stage(.05, "Downloading bootstrap");
-			Bootstrap bootstrap;
-			try
-			{
-				bootstrap = getBootstrap();
-			}
-			catch (IOException ex)
-			{
-				log.error("error fetching bootstrap", ex);
-				OpenOSRSSplashScreen.setError("Error while downloading the bootstrap!", "You have encountered an issue, please check your log files for a more detailed error message.");
-				return;
-			}
-
-			OpenOSRSSplashScreen.stage(.10, "Tidying the cache");
+			final boolean nojvm = Boolean.parseBoolean(prop.getProperty("openosrs.noJvm")) || "true".equals(System.getProperty("runelite.launcher.nojvm")) || "true".equals(System.getProperty("openosrs.launcher.nojvm"));
+			final int downloadThreads = options.has("download-threads") ? (Integer) options.valueOf("download-threads") : ArtifactDownloader.defaultThreads();
+			final Integer bootstrapDeadline = (Integer) options.valueOf("bootstrap-deadline");
+			final JvmProfile jvmProfile = (JvmProfile) options.valueOf("jvm-profile");
+			final int instances = Math.max(1, (Integer) options.valueOf("instances"));
+			final List<String> instanceArgs = options.valuesOf("instance-clientargs").stream()
+				.map(String.class::cast)
+				.collect(Collectors.toList());
 
-			boolean launcherTooOld = bootstrap.getRequiredLauncherVersion() != null &&
-				compareVersion(bootstrap.getRequiredLauncherVersion(), LauncherProperties.getVersion()) > 0;
+			// The splash screen is built while the bootstrap downloads, the launcher config is written and the
+			// cache is cleaned while the artifacts are checked, so the client starts after the longest chain
+			// of stages rather than all of them.
+			LaunchGraph graph = new LaunchGraph(headless
+				? new TextProgress(System.err)
+				: (text, fraction) -> OpenOSRSSplashScreen.stage(fraction, text));
 
-			boolean jvmTooOld = false;
-			try
+			LaunchGraph.Stage<Void> splash = graph.stage("Setting up environment", 5, (progress) ->
 			{
-				if (bootstrap.getRequiredJVMVersion() != null)
+				if (!headless)
 				{
-					jvmTooOld = Runtime.Version.parse(bootstrap.getRequiredJVMVersion())
-						.compareTo(Runtime.version()) > 0;
+					OpenOSRSSplashScreen.init(nightly ? "Nightly" : stable ? "Stable" : "Staging");
 				}
-			}
-			catch (IllegalArgumentException e)
-			{
-				log.warn("Unable to parse bootstrap version", e);
-			}
-
-			boolean nojvm = Boolean.parseBoolean(prop.getProperty("openosrs.noJvm")) || "true".equals(System.getProperty("runelite.launcher.nojvm")) || "true".equals(System.getProperty("openosrs.launcher.nojvm"));
+				return null;
+			});
 
-			if (launcherTooOld || (nojvm && jvmTooOld))
+			LaunchGraph.Stage<BootstrapCache.Result> bootstrapResult = graph.stage("Downloading bootstrap", 5, (progress) ->
 			{
-				OpenOSRSSplashScreen.setError("Error while downloading the client!", "You have encountered an issue, please check your log files for a more detailed error message.");
-				return;
-			}
-			if (jvmTooOld)
+				try
+				{
+					return getBootstrap(bootstrapDeadline);
+				}
+				catch (IOException ex)
+				{
+					throw new LaunchException(EXIT_BOOTSTRAP, "error fetching bootstrap", "Error while downloading the bootstrap!", "You have encountered an issue, please check your log files for a more detailed error message.", ex);
+				}
+			});
+
+			// Verifying reads the repository, so it never takes the shortcut
+			final boolean usePlan = !verifyOnly && !options.has("paranoid-verify");
+			LaunchGraph.Stage<LaunchPlanCache.Plan> plan = graph.stage("Checking launch plan", 0, (progress) ->
 			{
-				OpenOSRSSplashScreen.setError("Your Java installation is too old", "OpenOSRS now requires Java " +
-						bootstrap.getRequiredJVMVersion() + " to run. You can get a platform specific version from openosrs.com," +
-						" or install a newer version of Java.");
-				return;
-			}
+				LaunchPlanCache.Plan launchPlan = usePlan ? PLAN_CACHE.get(getChannel(), LaunchPlanCache.key(bootstrapResult.get().getHash())) : null;
+				if (launchPlan != null)
+				{
+					log.debug("Nothing has changed since the last launch, using the launch plan");
+					// the artifacts are still in use, don't let other channels clean them up
+					STORE.touchChannel(getChannel());
+				}
+				return launchPlan;
+			}, bootstrapResult);
 
-			if (!checkVersion(bootstrap))
+			LaunchGraph.Stage<List<Artifact>> artifacts = graph.stage("Checking launcher version", 0, (progress) ->
 			{
-				log.error("launcher version too low");
-				OpenOSRSSplashScreen.setError("Your launcher is outdated!", "The launcher you're using is oudated. Please either download a newer version from openosrs.com or by clicking the update button on the right hand side.");
-				return;
-			}
+				if (plan.get() != null)
+				{
+					return null;
+				}
 
-			// update packr vmargs. The only extra vmargs we need to write to disk are the ones which cannot be set
-			// at runtime, which currently is just the vm errorfile.
-			PackrConfig.updateLauncherArgs(bootstrap, jvmParams);
+				final Bootstrap bootstrap = bootstrapResult.get().getBootstrap();
+				checkBootstrap(bootstrap, nojvm);
 
-			REPO_DIR.mkdirs();
+				REPO_DIR.mkdirs();
 
-			// Determine artifacts for this OS
-			List<Artifact> artifacts = Arrays.stream(bootstrap.getArtifacts())
-				.filter(a ->
-				{
-					if (a.getPlatform() == null)
-					{
-						return true;
-					}
+				List<Artifact> osArtifacts = getArtifacts(bootstrap);
 
-					final String os = System.getProperty("os.name");
-					final String arch = System.getProperty("os.arch");
-					for (Platform platform : a.getPlatform())
-					{
-						if (platform.getName() == null)
-						{
-							continue;
-						}
+				// Warm up the connections to the artifact hosts while the repository is being checked
+				osArtifacts.stream()
+					.map(Artifact::getPath)
+					.collect(Collectors.toMap(path -> URI.create(path).getHost(), path -> path, (a, b) -> a))
+					.values()
+					.forEach(HttpTransport::preconnect);
 
-						OS.OSType platformOs = OS.parseOs(platform.getName());
-						if ((platformOs == OS.OSType.Other ? platform.getName().equals(os) : platformOs == OS.getOs())
-							&& (platform.getArch() == null || platform.getArch().equals(arch)))
-						{
-							return true;
-						}
-					}
+				STORE.setParanoid(options.has("paranoid-verify"));
 
-					return false;
-				})
-				.collect(Collectors.toList());
+				if (!verifyOnly && !isBootstrapVerified(bootstrapResult.get()))
+				{
+					// Move jars from before the repository was content addressed, before the cache is cleaned
+					STORE.migrate();
+				}
 
-			// Clean out old artifacts from the repository
-			clean(artifacts);
+				return osArtifacts;
+			}, plan);
 
-			try
-			{
-				download(artifacts);
-			}
-			catch (IOException ex)
+			// update packr vmargs. The only extra vmargs we need to write to disk are the ones which cannot be set
+			// at runtime, which currently is just the vm errorfile. It is only read by the next launch, so the client
+			// doesn't wait for it.
+			graph.stage("Updating launcher config", 0, (progress) ->
 			{
-				log.error("unable to download artifacts", ex);
-				OpenOSRSSplashScreen.setError("Error while downloading the client!", "You have encountered an issue, please check your log files for a more detailed error message.");
-				return;
-			}
+				if (!verifyOnly && plan.get() == null)
+				{
+					PackrConfig.updateLauncherArgs(bootstrapResult.get().getBootstrap(), jvmParams);
+				}
+				return null;
+			}, artifacts);
 
-			OpenOSRSSplashScreen.stage(.80, "Verifying");
-			try
-			{
-				verifyJarHashes(artifacts);
-			}
-			catch (VerificationException ex)
+			LaunchGraph.Stage<Void> clean = graph.stage("Tidying the cache", 0, (progress) ->
 			{
-				log.error("Unable to verify artifacts", ex);
-				OpenOSRSSplashScreen.setError("Error while verifying downloaded files!", "You have encountered an issue, please check your log files for a more detailed error message.");
-				return;
-			}
+				// Only needs doing when the artifact set changes
+				if (!verifyOnly && plan.get() == null && !isBootstrapVerified(bootstrapResult.get()))
+				{
+					STORE.clean(artifacts.get());
+				}
+				return null;
+			}, artifacts);
 
-			final Collection<String> clientArgs = getClientArgs(options);
+			LaunchGraph.Stage<List<Artifact>> outdated = graph.stage("Checking artifacts", 5,
+				(progress) -> plan.get() == null ? getOutdated(artifacts.get(), progress) : null, artifacts);
 
-			if (log.isDebugEnabled())
+			// Cleaning would remove the temporary files of in progress downloads
+			LaunchGraph.Stage<Void> download = graph.stage("Downloading", 65, (progress) ->
 			{
-				clientArgs.add("--debug");
-			}
-
-			OpenOSRSSplashScreen.stage(.90, "Starting the client");
+				if (verifyOnly || plan.get() != null)
+				{
+					return null;
+				}
 
-			List<File> classpath = artifacts.stream()
-				.map(dep -> new File(REPO_DIR, dep.getName()))
-				.collect(Collectors.toList());
+				try
+				{
+					new ArtifactDownloader(STORE, downloadThreads, progress).download(outdated.get());
+				}
+				catch (IOException ex)
+				{
+					throw new LaunchException(EXIT_DOWNLOAD, "unable to download artifacts", "Error while downloading the client!", "You have encountered an issue, please check your log files for a more detailed error message.", ex);
+				}
+				return null;
+			}, outdated, clean);
 
-			// packr doesn't let us specify command line arguments
-			if (nojvm || options.has("nojvm"))
+			LaunchGraph.Stage<Void> verify = graph.stage("Verifying", 10, (progress) ->
 			{
+				if (plan.get() != null)
+				{
+					return null;
+				}
+
 				try
 				{
-					ReflectionLauncher.launch(classpath, clientArgs);
+					verifyJarHashes(artifacts.get(), progress);
 				}
-				catch (MalformedURLException ex)
+				catch (VerificationException ex)
 				{
-					log.error("unable to launch client", ex);
+					throw new LaunchException(EXIT_VERIFY, "Unable to verify artifacts", "Error while verifying downloaded files!", "You have encountered an issue, please check your log files for a more detailed error message.", ex);
 				}
-			}
-			else
+
+				STORE.saveIndex();
+				STORE.saveChannel(getChannel(), artifacts.get());
+				if (!isBootstrapVerified(bootstrapResult.get()))
+				{
+					BOOTSTRAP_CACHE.markVerified(getChannel(), bootstrapResult.get().getHash());
+				}
+
+				List<File> classpath = artifacts.get().stream()
+					.map(STORE::file)
+					.collect(Collectors.toList());
+				PLAN_CACHE.save(getChannel(), LaunchPlanCache.key(bootstrapResult.get().getHash()),
+					new LaunchPlanCache.Plan(classpath, JvmLauncher.getJvmArguments(bootstrapResult.get().getBootstrap())));
+				return null;
+			}, download);
+
+			graph.stage("Starting the client", 10, (progress) ->
 			{
-				try
+				final Collection<String> clientArgs = getClientArgs(options);
+
+				if (log.isDebugEnabled())
 				{
-					JvmLauncher.launch(bootstrap, classpath, clientArgs, jvmProps, jvmParams);
+					clientArgs.add("--debug");
 				}
-				catch (IOException ex)
+
+				final LaunchPlanCache.Plan launchPlan = plan.get() != null ? plan.get()
+					: new LaunchPlanCache.Plan(artifacts.get().stream()
+						.map(STORE::file)
+						.collect(Collectors.toList()),
+					JvmLauncher.getJvmArguments(bootstrapResult.get().getBootstrap()));
+				final List<File> classpath = launchPlan.getClasspath();
+
+				if (headless)
 				{
-					log.error("unable to launch client", ex);
+					if (options.has("print-classpath"))
+					{
+						System.out.println(classpath.stream()
+							.map(File::getAbsolutePath)
+							.collect(Collectors.joining(File.pathSeparator)));
+					}
+					return null;
 				}
+
+				// packr doesn't let us specify command line arguments
+				if (nojvm || options.has("nojvm"))
+				{
+					if (instances > 1)
+					{
+						log.warn("Only one client can be launched without a separate jvm");
+					}
+
+					try
+					{
+						ReflectionLauncher.launch(classpath, clientArgs);
+					}
+					catch (MalformedURLException ex)
+					{
+						log.error("unable to launch client", ex);
+					}
+				}
+				else
+				{
+					final ClientSupervisor supervisor = options.has("supervise") ? new ClientSupervisor(CRASH_FILES, new File(LOGS_DIR, "supervisor.json")) : null;
+					for (int i = 1; i <= instances; ++i)
+					{
+						final int instance = i;
+						if (instance > 1)
+						{
+							// Stagger the clients so they aren't all loading classes and caches at once
+							Thread.sleep(INSTANCE_STAGGER.toMillis());
+						}
+
+						final Collection<String> instanceClientArgs = new ArrayList<>(clientArgs);
+						if (instance <= instanceArgs.size())
+						{
+							instanceClientArgs.addAll(Splitter.on(' ').omitEmptyStrings().trimResults().splitToList(instanceArgs.get(instance - 1)));
+						}
+
+						final ClientSupervisor.Launch launch = () -> JvmLauncher.launch(launchPlan.getJvmArguments(), classpath, instanceClientArgs, jvmProps, jvmParams, jvmProfile, instance, instances, supervisor != null);
+						try
+						{
+							Process process = launch.start();
+							if (supervisor != null && process != null)
+							{
+								supervisor.supervise(instance, process, launch);
+							}
+						}
+						catch (IOException ex)
+						{
+							log.error("unable to launch client {}", instance, ex);
+						}
+					}
+
+					if (options.has("prefetch"))
+					{
+						startPrefetch(bootstrapResult.get().getHash(), classpath);
+					}
+				}
+				return null;
+			}, splash, verify);
+
+			try
+			{
+				graph.run(4);
 			}
+			catch (LaunchException ex)
+			{
+				log.error(ex.getMessage(), ex.getCause());
+				if (headless)
+				{
+					System.err.println(ex.getTitle() + " " + ex.getMessage());
+					return ex.getExitCode();
+				}
+				OpenOSRSSplashScreen.setError(ex.getTitle(), ex.getContent());
+			}
+
+			return EXIT_OK;
 		}
 		catch (Exception e)
 		{
 			log.error("Failure during startup", e);
 			final boolean postInstall = options.has("postinstall");
-			if (!postInstall)
+			if (headless)
+			{
+				System.err.println("Error during startup: " + e);
+			}
+			else if (!postInstall)
 			{
 				OpenOSRSSplashScreen.setError("Error during startup!", "OpenOSRS has encountered an unexpected error during startup, please check your log files for a more detailed error message.");
 			}
+			return EXIT_ERROR;
 		}
 		catch (Error e)
 		{
@@ -503,10 +681,88 @@ public class Launcher
 		}
 		finally
 		{
-			OpenOSRSSplashScreen.close();
+			if (!headless)
+			{
+				OpenOSRSSplashScreen.close();
+			}
+		}
+	}
+
+	private static boolean isBootstrapVerified(BootstrapCache.Result bootstrapResult)
+	{
+		// the repository was already tidied for this exact bootstrap
+		return BOOTSTRAP_CACHE.isVerified(getChannel(), bootstrapResult.getHash());
+	}
+
+	private static void checkBootstrap(Bootstrap bootstrap, boolean nojvm) throws LaunchException
+	{
+		boolean launcherTooOld = bootstrap.getRequiredLauncherVersion() != null &&
+			compareVersion(bootstrap.getRequiredLauncherVersion(), LauncherProperties.getVersion()) > 0;
+
+		boolean jvmTooOld = false;
+		try
+		{
+			if (bootstrap.getRequiredJVMVersion() != null)
+			{
+				jvmTooOld = Runtime.Version.parse(bootstrap.getRequiredJVMVersion())
+					.compareTo(Runtime.version()) > 0;
+			}
+		}
+		catch (IllegalArgumentException e)
+		{
+			log.warn("Unable to parse bootstrap version", e);
+		}
+
+		if (launcherTooOld || (nojvm && jvmTooOld))
+		{
+			throw new LaunchException(EXIT_OUTDATED, "launcher or jvm too old for the bootstrap", "Error while downloading the client!", "You have encountered an issue, please check your log files for a more detailed error message.");
+		}
+		if (jvmTooOld)
+		{
+			throw new LaunchException(EXIT_OUTDATED, "jvm too old", "Your Java installation is too old", "OpenOSRS now requires Java " +
+					bootstrap.getRequiredJVMVersion() + " to run. You can get a platform specific version from openosrs.com," +
+					" or install a newer version of Java.");
+		}
+
+		if (!checkVersion(bootstrap))
+		{
+			throw new LaunchException(EXIT_OUTDATED, "launcher version too low", "Your launcher is outdated!", "The launcher you're using is oudated. Please either download a newer version from openosrs.com or by clicking the update button on the right hand side.");
 		}
 	}
 
+	private static List<Artifact> getArtifacts(Bootstrap bootstrap)
+	{
+		// Determine artifacts for this OS
+		return Arrays.stream(bootstrap.getArtifacts())
+			.filter(a ->
+			{
+				if (a.getPlatform() == null)
+				{
+					return true;
+				}
+
+				final String os = System.getProperty("os.name");
+				final String arch = System.getProperty("os.arch");
+				for (Platform platform : a.getPlatform())
+				{
+					if (platform.getName() == null)
+					{
+						continue;
+					}
+
+					OS.OSType platformOs = OS.parseOs(platform.getName());
+					if ((platformOs == OS.OSType.Other ? platform.getName().equals(os) : platformOs == OS.getOs())
+						&& (platform.getArch() == null || platform.getArch().equals(arch)))
+					{
+						return true;
+					}
+				}
+
+				return false;
+			})
+			.collect(Collectors.toList());
+	}
+
 	private static boolean checkVersion(Bootstrap bootstrap)
 	{
 		if (bootstrap.getMinimumLauncherVersion() == null || LauncherProperties.getVersion() == null)
@@ -518,6 +774,22 @@ public class Launcher
 		return !ours.isLowerThan(minimum);
 	}
 
+	/**
+	 * The properties the launcher's own connections depend on, which are passed on to the client too
+	 */
+	private static List<String> getNetworkProps(OptionSet options)
+	{
+		final List<String> props = new ArrayList<>(IPV4_PROPS);
+		if (OS.getOs() == OS.OSType.Windows && !options.has("use-jre-truststore"))
+		{
+			// Use the Windows Trusted Root Certificate Authorities instead of the bundled cacerts.
+			// Corporations, schools, antivirus, and malware commonly install root certificates onto
+			// machines for security or other reasons that are not present in the JRE certificate store.
+			props.add("-Djavax.net.ssl.trustStoreType=Windows-ROOT");
+		}
+		return props;
+	}
+
 	private static void setJvmParams(final Collection<String> params)
 	{
 		for (String param : params)
@@ -527,41 +799,185 @@ public class Launcher
 		}
 	}
 
-	private static Bootstrap getBootstrap() throws IOException
+	private static String getBootstrapUrl()
 	{
-		URL u;
 		if (stable)
 		{
-			u = new URL(CLIENT_BOOTSTRAP_STABLE_URL);
+			return CLIENT_BOOTSTRAP_STABLE_URL;
 		}
 		else if (nightly)
 		{
-			u = new URL(CLIENT_BOOTSTRAP_NIGHTLY_URL);
+			return CLIENT_BOOTSTRAP_NIGHTLY_URL;
 		}
 		else if (staging)
 		{
-			u = new URL(CLIENT_BOOTSTRAP_STAGING_URL);
+			return CLIENT_BOOTSTRAP_STAGING_URL;
 		}
 		else
 		{
 			throw new RuntimeException("How did we get here?");
 		}
+	}
+
+	private static String getChannel()
+	{
+		return stable ? "stable" : nightly ? "nightly" : "staging";
+	}
 
-		log.info(String.valueOf(u));
+	private static BootstrapCache.Result getBootstrap() throws IOException
+	{
+		String url = getBootstrapUrl();
 
-		URLConnection conn = u.openConnection();
+		log.info(url);
 
-		conn.setRequestProperty("User-Agent", USER_AGENT);
+		return BOOTSTRAP_CACHE.fetch(getChannel(), url);
+	}
+
+	/**
+	 * Fetch the bootstrap, falling back to the last verified one if it can't be fetched, or if it takes
+	 * longer than the deadline. A fetch past the deadline carries on in the background so the new
+	 * bootstrap is cached, and used, for the next start.
+	 */
+	private static BootstrapCache.Result getBootstrap(Integer deadlineSeconds) throws IOException
+	{
+		final String channel = getChannel();
+		final CompletableFuture<BootstrapCache.Result> fetch = new CompletableFuture<>();
 
-		try (InputStream i = conn.getInputStream())
+		// A daemon, so a fetch which is still going when the client has been launched from the cache can't keep
+		// the launcher around. Reads of the body time out, so the fetch itself can't hang either.
+		Thread thread = new Thread(() ->
 		{
-			byte[] bytes = ByteStreams.toByteArray(i);
+			try
+			{
+				fetch.complete(getBootstrap());
+			}
+			catch (Throwable ex)
+			{
+				fetch.completeExceptionally(ex);
+			}
+		}, "bootstrap-fetch");
+		thread.setDaemon(true);
+		thread.start();
 
-			Gson g = new Gson();
-			return g.fromJson(new InputStreamReader(new ByteArrayInputStream(bytes)), Bootstrap.class);
+		try
+		{
+			if (deadlineSeconds != null)
+			{
+				try
+				{
+					return fetch.get(deadlineSeconds, TimeUnit.SECONDS);
+				}
+				catch (TimeoutException ex)
+				{
+					BootstrapCache.Result lastVerified = BOOTSTRAP_CACHE.lastVerified(channel);
+					if (lastVerified != null)
+					{
+						log.warn("Bootstrap is taking longer than {}s, launching the last verified client", deadlineSeconds);
+						fetch.whenComplete((result, e) ->
+						{
+							if (e != null)
+							{
+								log.warn("unable to fetch bootstrap in the background", e);
+							}
+							else if (!result.getHash().equals(lastVerified.getHash()))
+							{
+								log.info("Fetched a new bootstrap in the background, it will be used on the next start");
+							}
+						});
+						return lastVerified;
+					}
+
+					log.info("Bootstrap is taking longer than {}s, but there is no verified client to launch instead", deadlineSeconds);
+				}
+			}
+
+			return fetch.get();
+		}
+		catch (ExecutionException ex)
+		{
+			BootstrapCache.Result lastVerified = BOOTSTRAP_CACHE.lastVerified(channel);
+			if (lastVerified != null)
+			{
+				log.warn("unable to fetch bootstrap, launching the last verified client", ex.getCause());
+				return lastVerified;
+			}
+
+			Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new IOException(ex.getCause());
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted fetching bootstrap");
 		}
 	}
 
+	/**
+	 * Check for a new bootstrap once the client has started, and download its artifacts at a low
+	 * priority. The repository is content addressed, so they sit next to the running client's artifacts
+	 * and the next launch only has to verify them.
+	 *
+	 * @param launched the classpath of the running client, which must survive the prefetch
+	 */
+	private static void startPrefetch(String launchedHash, List<File> launched)
+	{
+		// Not a daemon, so the launcher stays around until the prefetch is done
+		Thread thread = new Thread(() ->
+		{
+			try
+			{
+				// stay out of the way of the client starting up
+				Thread.sleep(PREFETCH_DELAY.toMillis());
+				prefetch(launchedHash, launched);
+			}
+			catch (InterruptedException ex)
+			{
+				log.debug("prefetch interrupted");
+			}
+			catch (Exception ex)
+			{
+				log.warn("unable to prefetch the next update", ex);
+			}
+		}, "prefetch");
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	private static void prefetch(String launchedHash, List<File> launched) throws IOException, LaunchException
+	{
+		BootstrapCache.Result result = getBootstrap();
+		if (result.getHash().equals(launchedHash))
+		{
+			log.debug("No update to prefetch");
+			return;
+		}
+
+		Bootstrap bootstrap = result.getBootstrap();
+		checkBootstrap(bootstrap, false);
+
+		List<Artifact> artifacts = getArtifacts(bootstrap);
+		LaunchGraph.Progress progress = (text, fraction) ->
+		{
+		};
+		List<Artifact> outdated = getOutdated(artifacts, progress);
+		log.info("Prefetching {} artifacts of the next update", outdated.size());
+
+		ArtifactDownloader downloader = new ArtifactDownloader(STORE, 1, progress);
+		downloader.setThreadPriority(Thread.MIN_PRIORITY);
+		downloader.download(outdated);
+
+		STORE.saveIndex();
+		// keeps the prefetched artifacts from being cleaned by launches of other channels, along with the jars
+		// of the client which is still running
+		Set<File> keep = new LinkedHashSet<>(launched);
+		artifacts.stream()
+			.map(STORE::file)
+			.forEach(keep::add);
+		STORE.saveChannel(getChannel(), keep);
+		log.info("Prefetched the next update");
+	}
+
 	private static Collection<String> getClientArgs(OptionSet options)
 	{
 		final Collection<String> args = options.nonOptionArguments().stream()
@@ -590,116 +1006,57 @@ public class Launcher
 		return args;
 	}
 
-	private static void download(List<Artifact> artifacts) throws IOException
+	private static List<Artifact> getOutdated(List<Artifact> artifacts, LaunchGraph.Progress progress) throws IOException
 	{
 		List<Artifact> toDownload = new ArrayList<>(artifacts.size());
-		Map<Artifact, Diff> diffs = new HashMap<>();
-		int totalDownloadBytes = 0;
+
+		List<File> files = artifacts.stream()
+			.map(STORE::file)
+			.collect(Collectors.toList());
+		Map<File, String> hashes = STORE.hashAll(files, (done) ->
+			progress.update("Checking artifacts", done, files.size()));
 
 		for (Artifact artifact : artifacts)
 		{
-			File dest = new File(REPO_DIR, artifact.getName());
-
-			String hash;
-			try
-			{
-				hash = hash(dest);
-			}
-			catch (FileNotFoundException ex)
-			{
-				hash = null;
-			}
-
+			String hash = hashes.get(STORE.file(artifact));
 			if (Objects.equals(hash, artifact.getHash()))
 			{
 				log.debug("Hash for {} up to date", artifact.getName());
 				continue;
 			}
 
-			int downloadSize = artifact.getSize();
-
 			toDownload.add(artifact);
-			totalDownloadBytes += downloadSize;
 		}
 
-		final double START_PROGRESS = .15;
-		int downloaded = 0;
-		OpenOSRSSplashScreen.stage(START_PROGRESS, "Downloading");
-
-		for (Artifact artifact : toDownload)
-		{
-			File dest = new File(REPO_DIR, artifact.getName());
-			final int total = downloaded;
-
-			log.debug("Downloading {}", artifact.getName());
-
-			try (FileOutputStream fout = new FileOutputStream(dest))
-			{
-				final int totalBytes = totalDownloadBytes;
-				download(artifact.getPath(), artifact.getHash(), (completed) ->
-					OpenOSRSSplashScreen.stage(START_PROGRESS, .80, artifact.getName(), total + completed, totalBytes, true),
-					fout);
-				downloaded += artifact.getSize();
-			}
-			catch (VerificationException e)
-			{
-				log.warn("unable to verify jar {}", artifact.getName(), e);
-			}
-		}
+		return toDownload;
 	}
 
-	private static void clean(List<Artifact> artifacts)
+	private static void verifyJarHashes(List<Artifact> artifacts, LaunchGraph.Progress progress) throws VerificationException
 	{
-		File[] existingFiles = REPO_DIR.listFiles();
+		List<File> files = artifacts.stream()
+			.map(STORE::file)
+			.collect(Collectors.toList());
 
-		if (existingFiles == null)
-		{
-			return;
-		}
-
-		Set<String> artifactNames = new HashSet<>();
-		for (Artifact artifact : artifacts)
+		// Only reads the files whose state is unknown; artifacts already hashed or downloaded
+		// this run, and unchanged since, are checked against the recorded hash
+		Map<File, String> hashes;
+		try
 		{
-			artifactNames.add(artifact.getName());
-			if (artifact.getDiffs() != null)
-			{
-				// Keep around the old files which diffs are from
-				for (Diff diff : artifact.getDiffs())
-				{
-					artifactNames.add(diff.getFrom());
-				}
-			}
+			hashes = STORE.hashAll(files, (done) ->
+				progress.update("Verifying", done, files.size()));
 		}
-
-		for (File file : existingFiles)
+		catch (IOException e)
 		{
-			if (file.isFile() && !artifactNames.contains(file.getName()))
-			{
-				if (file.delete())
-				{
-					log.debug("Deleted old artifact {}", file);
-				}
-				else
-				{
-					log.warn("Unable to delete old artifact {}", file);
-				}
-			}
+			throw new VerificationException("unable to hash file", e);
 		}
-	}
 
-	private static void verifyJarHashes(List<Artifact> artifacts) throws VerificationException
-	{
 		for (Artifact artifact : artifacts)
 		{
 			String expectedHash = artifact.getHash();
-			String fileHash;
-			try
-			{
-				fileHash = hash(new File(REPO_DIR, artifact.getName()));
-			}
-			catch (IOException e)
+			String fileHash = hashes.get(STORE.file(artifact));
+			if (fileHash == null)
 			{
-				throw new VerificationException("unable to hash file", e);
+				throw new VerificationException("Missing " + artifact.getName());
 			}
 
 			if (!fileHash.equals(expectedHash))
@@ -712,12 +1069,6 @@ public class Launcher
 		}
 	}
 
-	private static String hash(File file) throws IOException
-	{
-		HashFunction sha256 = Hashing.sha256();
-		return Files.asByteSource(file).hash(sha256).toString();
-	}
-
 	@VisibleForTesting
 	static int compareVersion(String a, String b)
 	{
@@ -769,41 +1120,6 @@ public class Launcher
 		});
 	}
 
-	private static void download(String path, String hash, IntConsumer progress, OutputStream out) throws IOException, VerificationException
-	{
-		URL url = new URL(path);
-		HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-		conn.setRequestProperty("User-Agent", USER_AGENT);
-		conn.getResponseCode();
-
-		InputStream err = conn.getErrorStream();
-		if (err != null)
-		{
-			err.close();
-			throw new IOException("Unable to download " + path + " - " + conn.getResponseMessage());
-		}
-
-		int downloaded = 0;
-		HashingOutputStream hout = new HashingOutputStream(Hashing.sha256(), out);
-		try (InputStream in = conn.getInputStream())
-		{
-			int i;
-			byte[] buffer = new byte[1024 * 1024];
-			while ((i = in.read(buffer)) != -1)
-			{
-				hout.write(buffer, 0, i);
-				downloaded += i;
-				progress.accept(downloaded);
-			}
-		}
-
-		HashCode hashCode = hout.hash();
-		if (!hash.equals(hashCode.toString()))
-		{
-			throw new VerificationException("Unable to verify resource " + path + " - expected " + hash + " got " + hashCode.toString());
-		}
-	}
-
 	static boolean isJava17()
 	{
 		// 16 has the same module restrictions as 17, so we'll use the 17 settings for it
@@ -835,6 +1151,7 @@ public class Launcher
 		sc.init(null, new TrustManager[]{trustManager}, new SecureRandom());
 		HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
 		HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
+		HttpTransport.setSslContext(sc);
 	}
 
 	private static void postInstall(List<String> jvmParams)
@@ -842,7 +1159,7 @@ public class Launcher
 		Bootstrap bootstrap;
 		try
 		{
-			bootstrap = getBootstrap();
+			bootstrap = getBootstrap().getBootstrap();
 		}
 		catch (IOException ex)
 		{
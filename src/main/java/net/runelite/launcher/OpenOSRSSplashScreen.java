@@ -27,13 +27,19 @@ package net.runelite.launcher;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -41,9 +47,22 @@ public class OpenOSRSSplashScreen extends JFrame
 {
 	private static OpenOSRSSplashScreen INSTANCE;
 	static final Dimension FRAME_SIZE = new Dimension(600, 350);
+	private static final int FRAME_INTERVAL_MS = 1000 / 30;
+
+	// The latest progress. Downloads report it far more often than it can be shown, so it is only swapped
+	// in here and applied on the EDT at most once a frame.
+	private static final AtomicReference<Snapshot> PENDING = new AtomicReference<>();
 
 	@Getter
 	private final MessagePanel messagePanel = new MessagePanel();
+	private final Timer progressTimer = new Timer(FRAME_INTERVAL_MS, e -> applyProgress());
+
+	@Value
+	private static class Snapshot
+	{
+		Supplier<String> text;
+		double progress;
+	}
 
 	private OpenOSRSSplashScreen(String mode)
 	{
@@ -66,14 +85,22 @@ public class OpenOSRSSplashScreen extends JFrame
 
 		this.setLocationRelativeTo(null);
 		this.setVisible(true);
+
+		progressTimer.start();
 	}
 
 	static void setError(String title, String content)
 	{
-		if (INSTANCE != null)
+		SwingUtilities.invokeLater(() ->
 		{
-			INSTANCE.setErrorInstance(title, content);
-		}
+			if (INSTANCE != null)
+			{
+				// progress which hasn't been shown yet mustn't replace the error
+				INSTANCE.progressTimer.stop();
+				PENDING.set(null);
+				INSTANCE.setErrorInstance(title, content);
+			}
+		});
 	}
 
 	private void setErrorInstance(String title, String content)
@@ -98,15 +125,22 @@ public class OpenOSRSSplashScreen extends JFrame
 		bar.repaint();
 	}
 
+	private void applyProgress()
+	{
+		final Snapshot snapshot = PENDING.getAndSet(null);
+		if (snapshot != null)
+		{
+			setMessage(snapshot.getText() != null ? snapshot.getText().get() : null, snapshot.getProgress());
+		}
+	}
+
 	private void setMessage(final String msg, final double value)
 	{
+		// the label and bar repaint themselves, and only relayout if the text no longer fits
 		messagePanel.getBarLabel().setText(msg);
 		messagePanel.getBar().setMaximum(1000);
 		messagePanel.getBar().setValue((int) (value * 1000));
 		setBarText(null);
-
-		this.getContentPane().revalidate();
-		this.getContentPane().repaint();
 	}
 
 	static void init(String mode)
@@ -123,6 +157,9 @@ public class OpenOSRSSplashScreen extends JFrame
 				try
 				{
 					INSTANCE = new OpenOSRSSplashScreen(mode);
+					// for comparing startup with and without the class data sharing archive
+					ProcessHandle.current().info().startInstant().ifPresent(start ->
+						log.info("Splash screen shown {}ms after launcher start", Duration.between(start, Instant.now()).toMillis()));
 				}
 				catch (Exception e)
 				{
@@ -150,6 +187,7 @@ public class OpenOSRSSplashScreen extends JFrame
 			// from its list, causing events to get dispatched to disposed frames. The frames handle the events
 			// regardless of being disposed and will run the configured close operation. Set the close operation
 			// to DO_NOTHING_ON_CLOSE prior to disposing to prevent this.
+			INSTANCE.progressTimer.stop();
 			INSTANCE.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
 			INSTANCE.setVisible(false);
 			INSTANCE.dispose();
@@ -180,18 +218,23 @@ public class OpenOSRSSplashScreen extends JFrame
 
 	static void stage(double overallProgress, String progressText)
 	{
-		if (INSTANCE != null)
-		{
-			INSTANCE.setMessage(progressText, overallProgress);
-		}
+		stage(overallProgress, () -> progressText);
+	}
+
+	/**
+	 * Show the progress on the next frame. Safe to call from any thread, and cheap enough to call for
+	 * every chunk downloaded.
+	 *
+	 * @param progressText formatted on the EDT, and only if it is shown
+	 */
+	static void stage(double overallProgress, Supplier<String> progressText)
+	{
+		PENDING.set(new Snapshot(progressText, overallProgress));
 	}
 
 	static void barMessage(String barMessage)
 	{
-		if (INSTANCE != null)
-		{
-			INSTANCE.setMessage(barMessage, 0);
-		}
+		stage(0, barMessage);
 	}
 
 	static void message(String message)
@@ -24,18 +24,12 @@
  */
 package net.runelite.launcher;
 
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.nio.channels.FileChannel;
-import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -47,6 +41,8 @@ import net.runelite.launcher.beans.Bootstrap;
 @Slf4j
 class PackrConfig
 {
+	private static final String CDS_ARCHIVE = "OpenOSRS.jsa";
+
 	// Update the packr config
 	static void updateLauncherArgs(Bootstrap bootstrap, Collection<String> extraJvmArgs)
 	{
@@ -61,16 +57,17 @@ class PackrConfig
 		Gson gson = new GsonBuilder()
 			.setPrettyPrinting()
 			.create();
-		Map config;
-		try (FileInputStream fin = new FileInputStream(configFile))
+		byte[] current;
+		try
 		{
-			config = gson.fromJson(new InputStreamReader(fin), Map.class);
+			current = Files.readAllBytes(configFile.toPath());
 		}
 		catch (IOException e)
 		{
 			log.warn("error updating packr vm args!", e);
 			return;
 		}
+		Map config = gson.fromJson(new String(current), Map.class);
 
 		String[] argsArr = getArgs(bootstrap);
 		if (argsArr == null || argsArr.length == 0)
@@ -84,32 +81,29 @@ class PackrConfig
 		args.addAll(Arrays.asList(argsArr));
 		args.addAll(extraJvmArgs);
 
+		// Keep the class data sharing archive packaged with the launcher, the jvm ignores it if it doesn't match
+		if (new File(configFile.getParentFile(), CDS_ARCHIVE).exists())
+		{
+			args.add("-XX:SharedArchiveFile=" + CDS_ARCHIVE);
+			args.add("-Xshare:auto");
+		}
+
 		config.put("vmArgs", args);
 		config.put("env", getEnv(bootstrap));
 
-		try
+		byte[] updated = gson.toJson(config).getBytes();
+		// The config is almost always unchanged, and the fsync and rename are slow on some disks and
+		// with some antivirus
+		if (Hashing.sha256().hashBytes(updated).equals(Hashing.sha256().hashBytes(current)))
 		{
-			File tmpFile = File.createTempFile("openosrs", null);
-
-			try (FileOutputStream fout = new FileOutputStream(tmpFile);
-				FileChannel channel = fout.getChannel();
-				PrintWriter writer = new PrintWriter(fout))
-			{
-				channel.lock();
-				writer.write(gson.toJson(config));
-				channel.force(true);
-				// FileChannel.close() frees the lock
-			}
+			log.debug("Packr config is up to date");
+			return;
+		}
 
-			try
-			{
-				Files.move(tmpFile.toPath(), configFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-			}
-			catch (AtomicMoveNotSupportedException ex)
-			{
-				log.debug("atomic move not supported", ex);
-				Files.move(tmpFile.toPath(), configFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-			}
+		try
+		{
+			// packr can't start at all without its config, so make sure it survives a power loss
+			AtomicFiles.write(configFile, true, out -> out.write(updated));
 		}
 		catch (IOException e)
 		{
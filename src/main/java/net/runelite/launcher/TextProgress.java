@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Progress for the headless modes, written as plain lines since the output is usually a log or a pipe
+ * rather than a terminal. A line is printed when the percentage moves, or at most once a second for a
+ * new message.
+ */
+class TextProgress implements LaunchGraph.Progress
+{
+	private static final long MESSAGE_INTERVAL_MS = 1000;
+
+	private final PrintStream out;
+	private int lastPercent = -1;
+	private String lastText;
+	private long lastPrint;
+
+	TextProgress(PrintStream out)
+	{
+		this.out = out;
+	}
+
+	@Override
+	public synchronized void update(Supplier<String> text, double fraction)
+	{
+		final int percent = (int) (fraction * 100);
+		final long now = System.currentTimeMillis();
+
+		if (percent == lastPercent && (text == null || now - lastPrint < MESSAGE_INTERVAL_MS))
+		{
+			return;
+		}
+
+		final String message = text != null ? text.get() : lastText;
+		if (percent == lastPercent && Objects.equals(message, lastText))
+		{
+			return;
+		}
+
+		lastPercent = percent;
+		lastText = message;
+		lastPrint = now;
+		out.printf("[%3d%%] %s%n", percent, message == null ? "" : message);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import io.sigpipe.jbsdiff.Diff;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactDownloaderTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testApplyDiff() throws Exception
+	{
+		byte[] oldBytes = "the quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+		byte[] newBytes = "the quick brown cat jumps over the lazy dog!".getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream diff = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(diff))
+		{
+			Diff.diff(oldBytes, newBytes, gzip);
+		}
+
+		File old = folder.newFile("old.jar");
+		Files.write(oldBytes, old);
+		File out = folder.newFile("new.jar");
+
+		HashCode hash = ArtifactDownloader.applyDiff(old, diff.toByteArray(), out);
+
+		Assert.assertArrayEquals(newBytes, Files.toByteArray(out));
+		Assert.assertEquals(Hashing.sha256().hashBytes(newBytes), hash);
+	}
+
+	@Test
+	public void testTransferFillsBuffer() throws Exception
+	{
+		byte[] bytes = new byte[100];
+		for (int i = 0; i < bytes.length; ++i)
+		{
+			bytes[i] = (byte) i;
+		}
+
+		// a connection which only has a few bytes ready at a time
+		InputStream trickle = new ByteArrayInputStream(bytes)
+		{
+			@Override
+			public synchronized int read(byte[] b, int off, int len)
+			{
+				return super.read(b, off, Math.min(len, 7));
+			}
+		};
+
+		ReadableByteChannel in = Channels.newChannel(trickle);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Hasher hasher = Hashing.sha256().newHasher();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+		Assert.assertEquals(64, ArtifactDownloader.transfer(in, buffer, hasher, Channels.newChannel(out)));
+		Assert.assertEquals(36, ArtifactDownloader.transfer(in, buffer, hasher, Channels.newChannel(out)));
+		Assert.assertEquals(-1, ArtifactDownloader.transfer(in, buffer, hasher, Channels.newChannel(out)));
+
+		Assert.assertArrayEquals(bytes, out.toByteArray());
+		Assert.assertEquals(Hashing.sha256().hashBytes(bytes), hasher.hash());
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testMigratedJarsSurviveClean() throws Exception
+	{
+		File dir = folder.newFolder("repository2");
+		File old = new File(dir, "client-1.0.jar");
+		Files.write("old client", old, StandardCharsets.UTF_8);
+		String hash = FileHasher.hash(old);
+
+		ArtifactStore store = new ArtifactStore(dir);
+		store.migrate();
+
+		File migrated = store.file(hash, "client-1.0.jar");
+		Assert.assertFalse(old.exists());
+		Assert.assertTrue(migrated.isFile());
+
+		// not part of the launched channel, but still kept as a diff source
+		store.clean(List.of());
+		Assert.assertTrue(migrated.isFile());
+	}
+
+	@Test
+	public void testUnreadableChannelKeepsEverything() throws Exception
+	{
+		File dir = folder.newFolder("repository2");
+		File blob = new File(dir, "0000000000000000000000000000000000000000000000000000000000000000.jar");
+		Files.write("used by nightly", blob, StandardCharsets.UTF_8);
+
+		File channels = new File(dir, "channels");
+		channels.mkdirs();
+		// a manifest left half written
+		Files.write("[\"0000", new File(channels, "nightly.json"), StandardCharsets.UTF_8);
+
+		new ArtifactStore(dir).clean(List.of());
+		Assert.assertTrue(blob.isFile());
+	}
+}
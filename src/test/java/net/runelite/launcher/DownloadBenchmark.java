@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Compares writing downloads through a heap array and RandomAccessFile with the pooled direct buffer
+ * and FileChannel path of {@link ArtifactDownloader#transfer}. Not run as part of the tests.
+ *
+ * <pre>
+ * java -cp ... net.runelite.launcher.DownloadBenchmark [artifacts] [artifact MB]
+ * </pre>
+ */
+public class DownloadBenchmark
+{
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private interface Download
+	{
+		void run(InputStream in, File out) throws IOException;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		final int artifacts = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+		final int size = (args.length > 1 ? Integer.parseInt(args[1]) : 8) * 1024 * 1024;
+
+		final byte[] body = new byte[size];
+		new Random(0).nextBytes(body);
+		final File out = File.createTempFile("benchmark", ".part");
+		out.deleteOnExit();
+
+		final BufferPool buffers = new BufferPool(BUFFER_SIZE, 1);
+		final Download stream = (in, file) ->
+		{
+			Hasher hasher = Hashing.sha256().newHasher();
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+			{
+				raf.setLength(0);
+				int i;
+				byte[] buffer = new byte[BUFFER_SIZE];
+				while ((i = in.read(buffer)) != -1)
+				{
+					raf.write(buffer, 0, i);
+					hasher.putBytes(buffer, 0, i);
+				}
+			}
+			hasher.hash();
+		};
+		final Download nio = (in, file) ->
+		{
+			Hasher hasher = Hashing.sha256().newHasher();
+			ByteBuffer buffer = buffers.acquire();
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				ReadableByteChannel rbc = Channels.newChannel(in))
+			{
+				channel.truncate(0);
+				while (ArtifactDownloader.transfer(rbc, buffer, hasher, channel) != -1)
+				{
+					// just the transfer
+				}
+			}
+			finally
+			{
+				buffers.release(buffer);
+			}
+			hasher.hash();
+		};
+
+		for (int round = 0; round < 3; ++round)
+		{
+			// the first round is warmup
+			run(round == 0 ? "warmup stream" : "stream", stream, body, out, artifacts);
+			run(round == 0 ? "warmup nio" : "nio", nio, body, out, artifacts);
+		}
+	}
+
+	private static void run(String name, Download download, byte[] body, File out, int artifacts) throws IOException
+	{
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final long thread = Thread.currentThread().getId();
+		final long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+		final long start = System.nanoTime();
+
+		for (int i = 0; i < artifacts; ++i)
+		{
+			download.run(new ByteArrayInputStream(body), out);
+		}
+
+		final long elapsed = System.nanoTime() - start;
+		final long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+		final double mb = (double) artifacts * body.length / (1024 * 1024);
+		System.out.printf("%-14s %8.1f MB/s %8.1f KB heap allocated per artifact%n",
+			name, mb / (elapsed / 1e9), allocated / 1024.0 / artifacts);
+	}
+}
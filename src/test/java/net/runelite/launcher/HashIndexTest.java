@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HashIndexTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUnchangedFileIsNotRehashed() throws Exception
+	{
+		File file = folder.newFile("a.jar");
+		Files.write("aaaa", file, StandardCharsets.UTF_8);
+		long modified = file.lastModified();
+
+		HashIndex index = new HashIndex(folder.newFile("index.json"));
+		String hash = index.hash(file);
+		Assert.assertEquals(sha256("aaaa"), hash);
+		index.save();
+
+		// same size and modification time, so the saved hash is trusted
+		Files.write("bbbb", file, StandardCharsets.UTF_8);
+		file.setLastModified(modified);
+
+		index = new HashIndex(new File(folder.getRoot(), "index.json"));
+		Assert.assertEquals(hash, index.hash(file));
+
+		index.setParanoid(true);
+		Assert.assertEquals(sha256("bbbb"), index.hash(file));
+	}
+
+	@Test
+	public void testChangedFileIsRehashed() throws Exception
+	{
+		File file = folder.newFile("a.jar");
+		Files.write("aaaa", file, StandardCharsets.UTF_8);
+
+		HashIndex index = new HashIndex(folder.newFile("index.json"));
+		index.hash(file);
+
+		Files.write("bbbbbb", file, StandardCharsets.UTF_8);
+		Assert.assertEquals(sha256("bbbbbb"), index.hash(file));
+	}
+
+	@Test
+	public void testRecordedHashIsTrustedThisRun() throws Exception
+	{
+		File file = folder.newFile("a.jar");
+		Files.write("aaaa", file, StandardCharsets.UTF_8);
+		long modified = file.lastModified();
+
+		HashIndex index = new HashIndex(folder.newFile("index.json"));
+		index.setParanoid(true);
+		index.record(file, sha256("aaaa"));
+
+		// not read back, even in paranoid mode, while the file is unchanged
+		Files.write("bbbb", file, StandardCharsets.UTF_8);
+		file.setLastModified(modified);
+		Assert.assertEquals(sha256("aaaa"), index.hash(file));
+	}
+
+	private static String sha256(String s)
+	{
+		return Hashing.sha256().hashString(s, StandardCharsets.UTF_8).toString();
+	}
+}
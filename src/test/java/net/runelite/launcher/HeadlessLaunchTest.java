@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.google.gson.JsonObject;
+import java.io.File;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HeadlessLaunchTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPrintClasspathPrintsOnlyTheClasspath() throws Exception
+	{
+		File home = folder.newFolder("home");
+		File openosrs = new File(home, ".openosrs");
+
+		// A verified bootstrap and launch plan, so the launch needs neither the network nor any artifacts
+		String body = "{}";
+		String hash = Hashing.sha256().hashString(body, StandardCharsets.UTF_8).toString();
+		JsonObject cached = new JsonObject();
+		cached.addProperty("body", body);
+		cached.addProperty("verifiedHash", hash);
+		cached.addProperty("verifiedBody", body);
+		File bootstrap = new File(openosrs, "bootstrap/stable.json");
+		bootstrap.getParentFile().mkdirs();
+		Files.write(cached.toString(), bootstrap, StandardCharsets.UTF_8);
+
+		File jar = folder.newFile("client.jar");
+		Files.write("client", jar, StandardCharsets.UTF_8);
+		new LaunchPlanCache(new File(openosrs, "launchplan"))
+			.save("stable", LaunchPlanCache.key(hash), new LaunchPlanCache.Plan(List.of(jar), List.of()));
+
+		int closedPort;
+		try (ServerSocket socket = new ServerSocket(0))
+		{
+			closedPort = socket.getLocalPort();
+		}
+
+		Process process = new ProcessBuilder(
+			Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+			"-Duser.home=" + home.getAbsolutePath(),
+			// the bootstrap host can't be reached, so the verified bootstrap is launched
+			"-Dhttps.proxyHost=127.0.0.1",
+			"-Dhttps.proxyPort=" + closedPort,
+			"-cp", System.getProperty("java.class.path"),
+			Launcher.class.getName(),
+			"--print-classpath")
+			.redirectError(ProcessBuilder.Redirect.DISCARD)
+			.start();
+
+		String stdout = new String(ByteStreams.toByteArray(process.getInputStream()), StandardCharsets.UTF_8);
+		Assert.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+		Assert.assertEquals(Launcher.EXIT_OK, process.exitValue());
+		Assert.assertEquals(jar.getAbsolutePath() + System.lineSeparator(), stdout);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.X509TrustManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HttpTransportTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final CountDownLatch done = new CountDownLatch(1);
+	private HttpServer server;
+
+	@Before
+	public void before() throws Exception
+	{
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		// sends part of the body and then stalls
+		server.createContext("/stall", exchange ->
+		{
+			exchange.sendResponseHeaders(200, 1000);
+			try (OutputStream out = exchange.getResponseBody())
+			{
+				out.write(new byte[100]);
+				out.flush();
+				done.await(30, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+		});
+		server.start();
+	}
+
+	@After
+	public void after()
+	{
+		done.countDown();
+		server.stop(0);
+	}
+
+	@Test(timeout = 20_000)
+	public void testStalledBodyTimesOut() throws Exception
+	{
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/stall";
+		try (InputStream in = HttpTransport.get(url, 0, Duration.ofSeconds(1)).body())
+		{
+			Assert.assertEquals(100, in.readNBytes(new byte[100], 0, 100));
+			in.read();
+			Assert.fail();
+		}
+		catch (SocketTimeoutException ex)
+		{
+			// retried by the downloader like any other io error
+		}
+	}
+
+	@Test
+	public void testClientUsesTrustStoreSetBeforeItIsBuilt() throws Exception
+	{
+		// something, such as the logging or a library, may create the default context before the launcher
+		// has set the trust store
+		SSLContext defaultContext = SSLContext.getDefault();
+
+		// a trust store with just one of the jre's certificates
+		KeyStore cacerts = KeyStore.getInstance(KeyStore.getDefaultType());
+		try (InputStream in = new FileInputStream(new File(System.getProperty("java.home"), "lib/security/cacerts")))
+		{
+			cacerts.load(in, null);
+		}
+		String alias = cacerts.aliases().nextElement();
+		KeyStore trustStore = KeyStore.getInstance("PKCS12");
+		trustStore.load(null, null);
+		trustStore.setCertificateEntry(alias, cacerts.getCertificate(alias));
+		File trustStoreFile = folder.newFile("truststore.p12");
+		try (OutputStream out = new FileOutputStream(trustStoreFile))
+		{
+			trustStore.store(out, "changeit".toCharArray());
+		}
+
+		System.setProperty("javax.net.ssl.trustStore", trustStoreFile.getAbsolutePath());
+		System.setProperty("javax.net.ssl.trustStorePassword", "changeit");
+		System.setProperty("javax.net.ssl.trustStoreType", "PKCS12");
+		try
+		{
+			HttpTransport.setSslContext(null);
+			Assert.assertNotSame(defaultContext, HttpTransport.getClient().sslContext());
+
+			X509TrustManager trustManager = (X509TrustManager) HttpTransport.trustManagers()[0];
+			Assert.assertEquals(1, trustManager.getAcceptedIssuers().length);
+		}
+		finally
+		{
+			System.clearProperty("javax.net.ssl.trustStore");
+			System.clearProperty("javax.net.ssl.trustStorePassword");
+			System.clearProperty("javax.net.ssl.trustStoreType");
+			HttpTransport.setSslContext(null);
+		}
+	}
+}
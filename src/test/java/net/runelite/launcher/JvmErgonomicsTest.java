@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JvmErgonomicsTest
+{
+	private static final long GB = 1024L * 1024 * 1024;
+
+	@Test
+	public void testAutoKeepsBootstrapArgs()
+	{
+		JvmErgonomics.Machine machine = new JvmErgonomics.Machine(16 * GB, 8 * GB, 8, 17);
+		List<String> bootstrap = List.of("-XX:+UseG1GC", "-Xmx3g", "-XX:+DisableAttachMechanism");
+
+		List<String> args = JvmErgonomics.merge(bootstrap, JvmErgonomics.tune(JvmProfile.AUTO, machine), false, machine);
+
+		Assert.assertEquals(bootstrap, args);
+	}
+
+	@Test
+	public void testAutoOnlyAddsMaximumHeap()
+	{
+		JvmErgonomics.Machine machine = new JvmErgonomics.Machine(16 * GB, 8 * GB, 8, 17);
+		List<String> bootstrap = List.of("-XX:+DisableAttachMechanism");
+
+		List<String> args = JvmErgonomics.merge(bootstrap, JvmErgonomics.tune(JvmProfile.AUTO, machine), false, machine);
+
+		// no collector or initial heap, the jvm's defaults stay unless a profile is chosen
+		Assert.assertEquals(List.of("-XX:+DisableAttachMechanism", "-Xmx2048m"), args);
+	}
+
+	@Test
+	public void testParseSize()
+	{
+		Assert.assertEquals(512, JvmErgonomics.parseSize("512"));
+		Assert.assertEquals(768L * 1024 * 1024, JvmErgonomics.parseSize("768m"));
+		Assert.assertEquals(2 * GB, JvmErgonomics.parseSize("2G"));
+		Assert.assertEquals(-1, JvmErgonomics.parseSize("lots"));
+	}
+
+	@Test
+	public void testExplicitProfileOverridesBootstrap()
+	{
+		JvmErgonomics.Machine machine = new JvmErgonomics.Machine(2 * GB, GB, 2, 17);
+		List<String> bootstrap = List.of("-XX:+UseZGC", "-Xmx768m", "-XX:+DisableAttachMechanism");
+
+		List<String> args = JvmErgonomics.merge(bootstrap, JvmErgonomics.tune(JvmProfile.LOW_MEMORY, machine), true, machine);
+
+		Assert.assertEquals(List.of("-XX:+DisableAttachMechanism", "-Xms128m", "-XX:+UseSerialGC", "-Xmx512m"), args);
+	}
+
+	@Test
+	public void testOversizedHeapIsLowered()
+	{
+		JvmErgonomics.Machine machine = new JvmErgonomics.Machine(2 * GB, GB, 4, 11);
+		List<String> bootstrap = List.of("-Xms2g", "-Xmx4g");
+
+		List<String> args = JvmErgonomics.merge(bootstrap, JvmErgonomics.tune(JvmProfile.LOW_MEMORY, machine), false, machine);
+
+		// the initial heap no longer fits in the maximum, so it is dropped
+		Assert.assertEquals(List.of("-XX:+UseSerialGC", "-Xmx512m"), args);
+	}
+}
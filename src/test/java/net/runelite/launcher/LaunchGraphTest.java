@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LaunchGraphTest
+{
+	@Test
+	public void testIndependentStagesOverlap() throws Exception
+	{
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		LaunchGraph graph = new LaunchGraph((text, fraction) ->
+		{
+		});
+		LaunchGraph.Stage<Boolean> a = graph.stage("a", 1, (progress) ->
+		{
+			bothStarted.countDown();
+			return bothStarted.await(5, TimeUnit.SECONDS);
+		});
+		LaunchGraph.Stage<Boolean> b = graph.stage("b", 1, (progress) ->
+		{
+			bothStarted.countDown();
+			return bothStarted.await(5, TimeUnit.SECONDS);
+		});
+		LaunchGraph.Stage<String> c = graph.stage("c", 1, (progress) -> a.get() + " " + b.get(), a, b);
+
+		graph.run(2);
+
+		Assert.assertEquals("true true", c.get());
+	}
+
+	@Test
+	public void testFailureSkipsDependents() throws Exception
+	{
+		AtomicBoolean ran = new AtomicBoolean();
+		LaunchGraph graph = new LaunchGraph((text, fraction) ->
+		{
+		});
+		LaunchGraph.Stage<Void> a = graph.stage("a", 1, (progress) ->
+		{
+			throw new IOException("a failed");
+		});
+		graph.stage("b", 1, (progress) ->
+		{
+			ran.set(true);
+			return null;
+		}, a);
+
+		try
+		{
+			graph.run(2);
+			Assert.fail();
+		}
+		catch (IOException ex)
+		{
+			Assert.assertEquals("a failed", ex.getMessage());
+		}
+
+		Assert.assertFalse(ran.get());
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, OpenOSRS <https://github.com/open-osrs>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.launcher;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LaunchPlanCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPlanIsReusedUntilAJarChanges() throws Exception
+	{
+		File jar = folder.newFile("a.jar");
+		Files.write("aaaa", jar, StandardCharsets.UTF_8);
+
+		LaunchPlanCache cache = new LaunchPlanCache(folder.newFolder("plans"));
+		String key = LaunchPlanCache.key("bootstrap");
+		cache.save("stable", key, new LaunchPlanCache.Plan(List.of(jar), List.of("-Xmx768m")));
+
+		LaunchPlanCache.Plan plan = cache.get("stable", key);
+		Assert.assertNotNull(plan);
+		Assert.assertEquals(List.of(jar.getAbsoluteFile()), plan.getClasspath());
+		Assert.assertEquals(List.of("-Xmx768m"), plan.getJvmArguments());
+
+		Assert.assertNull(cache.get("stable", LaunchPlanCache.key("other bootstrap")));
+		Assert.assertNull(cache.get("nightly", key));
+
+		Files.write("bbbbbb", jar, StandardCharsets.UTF_8);
+		Assert.assertNull(cache.get("stable", key));
+	}
+}